@@ -5,9 +5,10 @@ import android.util.Log;
 
 import co.nyzo.verifier.FieldByteSize;
 import co.nyzo.verifier.Transaction;
-import co.nyzo.verifier.nyzoString.NyzoString;
+import co.nyzo.verifier.nyzoString.NyzoStringDecodeResult;
 import co.nyzo.verifier.nyzoString.NyzoStringEncoder;
 import co.nyzo.verifier.nyzoString.NyzoStringPrivateSeed;
+import co.nyzo.verifier.nyzoString.NyzoStringType;
 import co.nyzo.verifier.util.ByteUtil;
 import co.nyzo.verifier.util.PrintUtil;
 
@@ -34,10 +35,10 @@ public class ApplicationConfiguration {
     }
 
     public byte[] getPrivateKeyBytes() {
-        NyzoString privateKey = NyzoStringEncoder.decode(privateKeyString);
+        NyzoStringDecodeResult privateKey = NyzoStringEncoder.decode(privateKeyString, NyzoStringType.PrivateSeed);
         byte[] bytes = new byte[FieldByteSize.seed];
-        if (privateKey instanceof NyzoStringPrivateSeed) {
-            bytes = ((NyzoStringPrivateSeed) privateKey).getSeed();
+        if (privateKey.isSuccess()) {
+            bytes = ((NyzoStringPrivateSeed) privateKey.getNyzoString()).getSeed();
         }
 
         return bytes;
@@ -48,12 +49,7 @@ public class ApplicationConfiguration {
     }
 
     public long getBaseTipValue() {
-        long value = -1L;
-        try {
-            value = (long) (Double.parseDouble(baseTipString) * Transaction.micronyzoMultiplierRatio);
-        } catch (Exception ignored) { }
-
-        return value;
+        return PrintUtil.parseAmount(baseTipString, -1L);
     }
 
     public String getMaximumMicropayAmountString() {
@@ -61,12 +57,7 @@ public class ApplicationConfiguration {
     }
 
     public long getMaximumMicropayAmountValue() {
-        long value = -1L;
-        try {
-            value = (long) (Double.parseDouble(maximumMicropayAmountString) * Transaction.micronyzoMultiplierRatio);
-        } catch (Exception ignored) { }
-
-        return value;
+        return PrintUtil.parseAmount(maximumMicropayAmountString, -1L);
     }
 
     public boolean isPrivateKeyValid() {
@@ -0,0 +1,108 @@
+package co.nyzo.mobile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import co.nyzo.verifier.json.JsonReader;
+
+public class ClientResponse {
+
+    private List<String> errors;
+    private List<String> notices;
+    private boolean forwarded;
+    private long blockHeight;
+
+    private ClientResponse() {
+        this.errors = Collections.emptyList();
+        this.notices = Collections.emptyList();
+        this.forwarded = false;
+        this.blockHeight = -1L;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public List<String> getNotices() {
+        return notices;
+    }
+
+    public boolean isForwarded() {
+        return forwarded;
+    }
+
+    public long getBlockHeight() {
+        return blockHeight;
+    }
+
+    public static ClientResponse fromJsonReader(JsonReader reader) throws IOException {
+
+        // Only the errors, the notices, and the forwarded flag and block height of the first result are read. All other
+        // values in the response are skipped as they are read, so the response is never stored in full.
+        ClientResponse response = new ClientResponse();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("errors")) {
+                response.errors = readStringList(reader);
+            } else if (name.equals("notices")) {
+                response.notices = readStringList(reader);
+            } else if (name.equals("result") && reader.peek() == JsonReader.Token.BeginArray) {
+                readResult(reader, response);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return response;
+    }
+
+    private static List<String> readStringList(JsonReader reader) throws IOException {
+
+        List<String> list = new ArrayList<>();
+        if (reader.peek() == JsonReader.Token.BeginArray) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() == JsonReader.Token.Value) {
+                    list.add(reader.nextString());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endArray();
+        } else {
+            reader.skipValue();
+        }
+
+        return list;
+    }
+
+    private static void readResult(JsonReader reader, ClientResponse response) throws IOException {
+
+        reader.beginArray();
+        boolean first = true;
+        while (reader.hasNext()) {
+            if (first && reader.peek() == JsonReader.Token.BeginObject) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (name.equals("forwarded") && reader.peek() == JsonReader.Token.Value) {
+                        response.forwarded = reader.nextBoolean(false);
+                    } else if (name.equals("blockHeight") && reader.peek() == JsonReader.Token.Value) {
+                        response.blockHeight = reader.nextLong(-1L);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+            first = false;
+        }
+        reader.endArray();
+    }
+}
@@ -17,14 +17,16 @@ import java.util.List;
 import java.util.Map;
 
 import co.nyzo.verifier.Transaction;
-import co.nyzo.verifier.json.Json;
-import co.nyzo.verifier.json.JsonObject;
-import co.nyzo.verifier.nyzoString.NyzoString;
+import co.nyzo.verifier.json.JsonReader;
+import co.nyzo.verifier.nyzoString.NyzoStringCache;
+import co.nyzo.verifier.nyzoString.NyzoStringDecodeResult;
 import co.nyzo.verifier.nyzoString.NyzoStringEncoder;
 import co.nyzo.verifier.nyzoString.NyzoStringTransaction;
+import co.nyzo.verifier.nyzoString.NyzoStringType;
 import co.nyzo.verifier.util.ByteUtil;
 import co.nyzo.verifier.util.NetworkUtil;
 import co.nyzo.verifier.util.PrintUtil;
+import co.nyzo.verifier.web.UrlBuilder;
 import co.nyzo.verifier.web.WebUtil;
 
 public class MainActivity extends Activity {
@@ -45,6 +47,10 @@ public class MainActivity extends Activity {
     private static MicropayConfiguration micropayConfiguration = null;
     private static boolean settingsViewVisible = false;
 
+    // The stored transaction and receiver identifiers are decoded each time the interface is updated. A small cache
+    // avoids checking their checksums again. Private seeds are not cached.
+    private static final int nyzoStringCacheSize = 16;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -52,6 +58,8 @@ public class MainActivity extends Activity {
         // Store a static reference to this for convenience for hiding the keyboard and accessing shared preferences.
         newestInstance = this;
 
+        NyzoStringCache.setMaximumSize(nyzoStringCacheSize);
+
         mainView = new MainView(this);
         mainView.setCancelButtonOnClickListener(view -> finish());
         mainView.setConfirmButtonOnClickListener(view -> sendTransaction());
@@ -118,8 +126,10 @@ public class MainActivity extends Activity {
 
             // Redirect to the page.
             String transactionString = NyzoStringEncoder.encode(new NyzoStringTransaction(transaction));
-            String redirectUrl = micropayConfiguration.getCallbackUrl() + "?transaction=" + transactionString +
-                    "&supplementalTransaction=" + supplementalTransactionString;
+            String redirectUrl = new UrlBuilder(micropayConfiguration.getCallbackUrl())
+                    .addParameter("transaction", transactionString)
+                    .addParameter("supplementalTransaction", supplementalTransactionString)
+                    .toString();
             Uri uri = Uri.parse(redirectUrl);
             Intent intent = new Intent(Intent.ACTION_VIEW, uri);
             if (intent.resolveActivity(newestInstance.getPackageManager()) != null) {
@@ -166,26 +176,27 @@ public class MainActivity extends Activity {
             String transactionString = NyzoStringEncoder.encode(new NyzoStringTransaction(transaction));
 
             // Send the transaction to the client.
-            String clientFullUrl = micropayConfiguration.getClientUrl() + "?transaction=" + transactionString;
-            Object response = Json.parse(NetworkUtil.stringForUrl(clientFullUrl, 1500));
+            String clientFullUrl = new UrlBuilder(micropayConfiguration.getClientUrl())
+                    .addParameter("transaction", transactionString)
+                    .toString();
+            ClientResponse response = null;
+            try (JsonReader reader = new JsonReader(NetworkUtil.inputStreamForUrl(clientFullUrl, 1500))) {
+                response = ClientResponse.fromJsonReader(reader);
+            } catch (Exception ignored) { }
 
             // Process the client response.
             if (response == null) {
                 errors = Collections.singletonList("The response from the server was not valid.");
-            } else if (response instanceof JsonObject) {
+            } else {
                 // Store the warnings and errors.
-                JsonObject responseObject = (JsonObject) response;
-                errors = responseObject.getStringList("errors");
-                warnings = responseObject.getStringList("notices");
+                errors = response.getErrors();
+                warnings = response.getNotices();
 
                 // If the transaction was forwarded, indicate success.
-                JsonObject result = Json.traverseGetObject(responseObject, "result", 0);
-                if (result != null) {
-                    if (result.getBoolean("forwarded", false) && result.getLong("blockHeight", -1L) > 0L) {
-                        success = true;
-                        messages = Collections.singletonList("The transaction was forwarded to the cycle for " +
-                                "incorporation into block " + result.getLong("blockHeight", -1L) + ".");
-                    }
+                if (response.isForwarded() && response.getBlockHeight() > 0L) {
+                    success = true;
+                    messages = Collections.singletonList("The transaction was forwarded to the cycle for " +
+                            "incorporation into block " + response.getBlockHeight() + ".");
                 }
             }
 
@@ -231,9 +242,10 @@ public class MainActivity extends Activity {
         Transaction transaction = null;
         if (micropayConfiguration != null) {
             String transactionString = getSharedPreferences().getString(micropayConfiguration.uniqueReferenceKey(), "");
-            NyzoString transactionNyzoString = NyzoStringEncoder.decode(transactionString);
-            if (transactionNyzoString instanceof NyzoStringTransaction) {
-                transaction = ((NyzoStringTransaction) transactionNyzoString).getTransaction();
+            NyzoStringDecodeResult transactionResult = NyzoStringEncoder.decode(transactionString,
+                    NyzoStringType.Transaction);
+            if (transactionResult.isSuccess()) {
+                transaction = ((NyzoStringTransaction) transactionResult.getNyzoString()).getTransaction();
             }
         }
 
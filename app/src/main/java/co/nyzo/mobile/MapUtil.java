@@ -9,33 +9,6 @@ public class MapUtil {
     // population is at API 24 or higher, this class will be eliminated in favor of using the
     // getOrDefault() method of the Map class.
 
-    public static char getOrDefault(Map<String, Character> map, String key, char defaultValue) {
-        Character value = map.get(key);
-        if (value == null) {
-            value = defaultValue;
-        }
-
-        return value;
-    }
-
-    public static String getOrDefault(Map<Character, String> map, Character key, String defaultValue) {
-        String value = map.get(key);
-        if (value == null) {
-            value = defaultValue;
-        }
-
-        return value;
-    }
-
-    public static int getOrDefault(Map<Character, Integer> map, Character key, int defaultValue) {
-        Integer value = map.get(key);
-        if (value == null) {
-            value = defaultValue;
-        }
-
-        return value;
-    }
-
     public static String getOrDefault(Map<String, String> map, String key, String defaultValue) {
         String value = map.get(key);
         if (value == null) {
@@ -3,10 +3,12 @@ package co.nyzo.mobile;
 import java.util.Map;
 
 import co.nyzo.verifier.Transaction;
-import co.nyzo.verifier.nyzoString.NyzoString;
+import co.nyzo.verifier.nyzoString.NyzoStringDecodeResult;
 import co.nyzo.verifier.nyzoString.NyzoStringEncoder;
 import co.nyzo.verifier.nyzoString.NyzoStringPublicIdentifier;
+import co.nyzo.verifier.nyzoString.NyzoStringType;
 import co.nyzo.verifier.util.ByteUtil;
+import co.nyzo.verifier.util.PrintUtil;
 
 public class MicropayConfiguration {
 
@@ -69,30 +71,20 @@ public class MicropayConfiguration {
         
         String clientUrl = MapUtil.getOrDefault(map, "clientUrl", "").trim();
         String receiverIdString = MapUtil.getOrDefault(map, "receiverId", "").trim();
-        NyzoString receiverIdNyzoString = NyzoStringEncoder.decode(receiverIdString);
+        NyzoStringDecodeResult receiverIdResult = NyzoStringEncoder.decode(receiverIdString,
+                NyzoStringType.PublicIdentifier);
         String displayName = MapUtil.getOrDefault(map, "displayName", "").trim();
-        long amountMicronyzos = parseAmount(MapUtil.getOrDefault(map, "amount", "").trim());
+        long amountMicronyzos = PrintUtil.parseAmount(MapUtil.getOrDefault(map, "amount", ""), 0L);
         String tag = MapUtil.getOrDefault(map, "tag", "").trim();
         String callbackUrl = MapUtil.getOrDefault(map, "callbackUrl", "").trim();
 
         MicropayConfiguration result = null;
-        if (!clientUrl.isEmpty() && (receiverIdNyzoString instanceof NyzoStringPublicIdentifier) &&
-                !displayName.isEmpty() && !tag.isEmpty() && !callbackUrl.isEmpty()) {
-            byte[] receiverId = ((NyzoStringPublicIdentifier) receiverIdNyzoString).getIdentifier();
+        if (!clientUrl.isEmpty() && receiverIdResult.isSuccess() && !displayName.isEmpty() && !tag.isEmpty() &&
+                !callbackUrl.isEmpty()) {
+            byte[] receiverId = ((NyzoStringPublicIdentifier) receiverIdResult.getNyzoString()).getIdentifier();
             result = new MicropayConfiguration(clientUrl, receiverId, displayName, amountMicronyzos, tag, callbackUrl);
         }
 
         return result;
     }
-
-    private static long parseAmount(String amountString) {
-        long amount = 0L;
-        try {
-            amountString = amountString.replace("∩", "");
-            amount = (long) (Double.parseDouble(amountString) *
-                    Transaction.micronyzoMultiplierRatio);
-        } catch (Exception ignored) { }
-
-        return amount;
-    }
 }
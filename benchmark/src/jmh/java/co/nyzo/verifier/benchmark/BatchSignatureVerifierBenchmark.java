@@ -0,0 +1,74 @@
+package co.nyzo.verifier.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import co.nyzo.verifier.FieldByteSize;
+import co.nyzo.verifier.Transaction;
+import co.nyzo.verifier.util.BatchSignatureVerifier;
+import co.nyzo.verifier.util.SignatureUtil;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchSignatureVerifierBenchmark {
+
+    // Each operation verifies all signatures, so signatures per second is the score multiplied by the batch size.
+    @Param({"64", "512"})
+    private int batchSize;
+
+    private byte[][] signatures;
+    private byte[][] signedBytes;
+    private byte[][] identifiers;
+
+    @Setup
+    public void setUp() {
+
+        // These are the signatures of cycle signature transactions on a single cycle transaction, each from a
+        // different verifier, as in a v2 cycle transaction.
+        Random random = BenchmarkData.random();
+        byte[] cycleTransactionSignature = BenchmarkData.randomBytes(random, FieldByteSize.signature);
+        signatures = new byte[batchSize][];
+        signedBytes = new byte[batchSize][];
+        identifiers = new byte[batchSize][];
+        for (int i = 0; i < batchSize; i++) {
+            Transaction transaction = Transaction.cycleSignatureTransaction(1_600_000_000_000L + i,
+                    Transaction.voteYes, cycleTransactionSignature, BenchmarkData.randomBytes(random,
+                            FieldByteSize.seed));
+            signatures[i] = transaction.getSignature();
+            signedBytes[i] = transaction.getBytes(true);
+            identifiers[i] = transaction.getSenderIdentifier();
+        }
+    }
+
+    @Benchmark
+    public boolean[] individual() {
+
+        boolean[] results = new boolean[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            results[i] = SignatureUtil.signatureIsValid(signatures[i], signedBytes[i], identifiers[i]);
+        }
+
+        return results;
+    }
+
+    @Benchmark
+    public boolean[] batch() {
+        return BatchSignatureVerifier.signaturesAreValid(signatures, signedBytes, identifiers);
+    }
+}
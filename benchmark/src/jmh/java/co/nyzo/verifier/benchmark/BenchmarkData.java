@@ -0,0 +1,111 @@
+package co.nyzo.verifier.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import co.nyzo.verifier.CycleSignatures;
+import co.nyzo.verifier.FieldByteSize;
+import co.nyzo.verifier.Transaction;
+
+public class BenchmarkData {
+
+    // The number of verifier signatures on the cycle transactions. This is in line with the size of the cycle at the
+    // time of writing.
+    public static final int cycleSignatureCount = 2500;
+
+    // The seed is fixed so that all payloads, and therefore all results, are reproducible from run to run.
+    private static final long randomSeed = 1729L;
+
+    public static byte[] randomBytes(Random random, int length) {
+
+        byte[] array = new byte[length];
+        random.nextBytes(array);
+
+        return array;
+    }
+
+    public static Random random() {
+        return new Random(randomSeed);
+    }
+
+    public static Transaction standardTransaction(Random random, byte[] signerSeed) {
+
+        // This mirrors the transaction created by the app for a Micropay payment: a small amount, a tag as sender
+        // data, and the Genesis block as the previous-block hash.
+        byte[] receiverIdentifier = randomBytes(random, FieldByteSize.identifier);
+        byte[] senderData = "micropay-benchmark-tag-012345678".getBytes(StandardCharsets.UTF_8);
+        long amount = 1 + random.nextInt(5_000_000);
+
+        return Transaction.standardTransaction(1_600_000_000_000L, amount, receiverIdentifier, 0L,
+                Transaction.genesisBlockHash, senderData, signerSeed);
+    }
+
+    public static Transaction v1CycleTransaction(Random random) {
+
+        // Signatures are random bytes. They are serialized, not verified, so they do not need to be valid.
+        byte[] initiatorSeed = randomBytes(random, FieldByteSize.seed);
+        Transaction transaction = Transaction.cycleTransaction(1_600_000_000_000L, 1_000_000L,
+                randomBytes(random, FieldByteSize.identifier), new byte[0], initiatorSeed);
+
+        CycleSignatures cycleSignatures = new CycleSignatures(false);
+        for (int i = 0; i < cycleSignatureCount; i++) {
+            cycleSignatures.put(randomBytes(random, FieldByteSize.identifier),
+                    randomBytes(random, FieldByteSize.signature));
+        }
+
+        return Transaction.cycleTransaction(transaction.getTimestamp(), transaction.getAmount(),
+                transaction.getReceiverIdentifier(), transaction.getPreviousHashHeight(),
+                transaction.getPreviousBlockHash(), transaction.getSenderIdentifier(), transaction.getSenderData(),
+                transaction.getSignature(), cycleSignatures);
+    }
+
+    public static Transaction v2CycleTransaction(Random random) {
+
+        byte[] initiatorSeed = randomBytes(random, FieldByteSize.seed);
+        Transaction transaction = Transaction.cycleTransaction(1_600_000_000_000L, 1_000_000L,
+                randomBytes(random, FieldByteSize.identifier), new byte[0], initiatorSeed);
+
+        CycleSignatures cycleSignatures = new CycleSignatures(true);
+        for (int i = 0; i < cycleSignatureCount; i++) {
+            cycleSignatures.put(1_600_000_001_000L + i, randomBytes(random, FieldByteSize.identifier),
+                    Transaction.voteYes, randomBytes(random, FieldByteSize.signature));
+        }
+
+        return Transaction.cycleTransaction(transaction.getTimestamp(), transaction.getAmount(),
+                transaction.getReceiverIdentifier(), transaction.getPreviousHashHeight(),
+                transaction.getPreviousBlockHash(), transaction.getSenderIdentifier(), transaction.getSenderData(),
+                transaction.getSignature(), cycleSignatures);
+    }
+
+    public static String clientResponse(int targetLength) {
+
+        // This is the shape of the response that the Micropay client returns after a transaction is submitted, padded
+        // with additional notices and result entries to reach the target length.
+        StringBuilder json = new StringBuilder();
+        json.append("{\"notices\":[");
+        int noticeCount = 0;
+        while (json.length() < targetLength / 2) {
+            if (noticeCount > 0) {
+                json.append(',');
+            }
+            json.append("\"notice ").append(noticeCount++).append(": the transaction was received by the client ")
+                    .append("and will be forwarded to the cycle\"");
+        }
+        json.append("],\"errors\":[],\"result\":[{\"forwarded\":true,\"blockHeight\":9876543,")
+                .append("\"senderDataString\":\"micropay-benchmark-tag\",\"amount\":\"∩0.000100\",")
+                .append("\"fee\":\"∩0.000001\",\"history\":[");
+        int entryCount = 0;
+        while (json.length() < targetLength - 200) {
+            if (entryCount > 0) {
+                json.append(',');
+            }
+            json.append("{\"height\":").append(9876543 - entryCount).append(",\"forwarded\":false,")
+                    .append("\"score\":").append(entryCount * 3).append(",\"note\":\"queued \\\"").append(entryCount)
+                    .append("\\\"\"}");
+            entryCount++;
+        }
+        json.append("]}]}");
+
+        return json.toString();
+    }
+}
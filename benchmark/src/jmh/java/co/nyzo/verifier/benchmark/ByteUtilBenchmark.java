@@ -0,0 +1,64 @@
+package co.nyzo.verifier.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import co.nyzo.verifier.FieldByteSize;
+import co.nyzo.verifier.util.ByteUtil;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ByteUtilBenchmark {
+
+    // These are the values printed most often in logs: identifiers and signatures.
+    private byte[] identifier;
+    private byte[] signature;
+    private byte[] otherSignature;
+    private String identifierWithDashes;
+
+    @Setup
+    public void setUp() {
+
+        Random random = BenchmarkData.random();
+        identifier = BenchmarkData.randomBytes(random, FieldByteSize.identifier);
+        signature = BenchmarkData.randomBytes(random, FieldByteSize.signature);
+        otherSignature = signature.clone();
+        otherSignature[otherSignature.length - 1]++;
+        identifierWithDashes = ByteUtil.arrayAsStringWithDashes(identifier);
+    }
+
+    @Benchmark
+    public String printIdentifierWithDashes() {
+        return ByteUtil.arrayAsStringWithDashes(identifier);
+    }
+
+    @Benchmark
+    public String printSignatureNoDashes() {
+        return ByteUtil.arrayAsStringNoDashes(signature);
+    }
+
+    @Benchmark
+    public byte[] readIdentifierWithDashes() {
+        return ByteUtil.byteArrayFromHexString(identifierWithDashes, FieldByteSize.identifier);
+    }
+
+    @Benchmark
+    public boolean compareSignaturesConstantTime() {
+        return ByteUtil.arraysAreEqualConstantTime(signature, otherSignature);
+    }
+}
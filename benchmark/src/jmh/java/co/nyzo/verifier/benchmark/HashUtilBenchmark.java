@@ -0,0 +1,61 @@
+package co.nyzo.verifier.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import co.nyzo.verifier.util.HashUtil;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashUtilBenchmark {
+
+    // The short input is the size of a Nyzo string header and public identifier. The long input is the size of a v2
+    // cycle transaction's signature block.
+    private byte[] shortInput;
+    private byte[] longInput;
+
+    @Setup
+    public void setUp() {
+
+        Random random = BenchmarkData.random();
+        shortInput = BenchmarkData.randomBytes(random, 36);
+        longInput = BenchmarkData.randomBytes(random, 105 * BenchmarkData.cycleSignatureCount);
+    }
+
+    @Benchmark
+    public byte[] singleSHA256Short() {
+        return HashUtil.singleSHA256(shortInput);
+    }
+
+    @Benchmark
+    public byte[] doubleSHA256Short() {
+        return HashUtil.doubleSHA256(shortInput);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] doubleSHA256ShortFourThreads() {
+        return HashUtil.doubleSHA256(shortInput);
+    }
+
+    @Benchmark
+    public byte[] doubleSHA256Long() {
+        return HashUtil.doubleSHA256(longInput);
+    }
+}
@@ -0,0 +1,112 @@
+package co.nyzo.verifier.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import co.nyzo.verifier.FieldByteSize;
+import co.nyzo.verifier.Transaction;
+import co.nyzo.verifier.json.Json;
+import co.nyzo.verifier.json.JsonObject;
+import co.nyzo.verifier.json.JsonReader;
+import co.nyzo.verifier.json.JsonWriter;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private String smallResponse;
+    private String largeResponse;
+    private List<Transaction> receiptTransactions;
+    private StringBuilder receiptOutput;
+
+    @Setup
+    public void setUp() {
+
+        smallResponse = BenchmarkData.clientResponse(0);
+
+        // The large response is kept just below the parser's length limit so that it is actually parsed.
+        largeResponse = BenchmarkData.clientResponse(Json.maximumJsonStringLength - 100);
+        if (!(Json.parse(largeResponse) instanceof JsonObject) || !(Json.parse(smallResponse) instanceof JsonObject)) {
+            throw new IllegalStateException("benchmark client responses were not parsed");
+        }
+
+        Random random = BenchmarkData.random();
+        byte[] signerSeed = BenchmarkData.randomBytes(random, FieldByteSize.seed);
+        receiptTransactions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            receiptTransactions.add(BenchmarkData.standardTransaction(random, signerSeed));
+        }
+        receiptOutput = new StringBuilder();
+    }
+
+    @Benchmark
+    public Object parseSmallClientResponse() {
+        return Json.parse(smallResponse);
+    }
+
+    @Benchmark
+    public Object parseLargeClientResponse() {
+        return Json.parse(largeResponse);
+    }
+
+    @Benchmark
+    public long parseLazyLargeClientResponse() {
+
+        // These are the four values that the app reads from a client response.
+        JsonObject response = (JsonObject) Json.parseLazy(largeResponse);
+        JsonObject result = Json.traverseGetObject(response, "result", 0);
+        return response.getStringList("errors").size() + response.getStringList("notices").size() +
+                (result.getBoolean("forwarded", false) ? 1 : 0) + result.getLong("blockHeight", -1L);
+    }
+
+    @Benchmark
+    public JsonReader.Token streamLargeClientResponse() throws IOException {
+
+        // The whole response is read and skipped, which is the most the streaming reader does for any response.
+        JsonReader reader = new JsonReader(new StringReader(largeResponse));
+        reader.skipValue();
+        return reader.peek();
+    }
+
+    @Benchmark
+    public StringBuilder writeOneHundredReceipts() throws IOException {
+
+        receiptOutput.setLength(0);
+        JsonWriter writer = new JsonWriter(receiptOutput);
+        writer.beginArray();
+        for (Transaction transaction : receiptTransactions) {
+            writer.beginObject()
+                    .name("timestamp").value(transaction.getTimestamp())
+                    .name("amount").value(transaction.getAmount())
+                    .name("fee").value(transaction.getFee())
+                    .name("previousHashHeight").value(transaction.getPreviousHashHeight())
+                    .name("senderData").value(new String(transaction.getSenderData(), StandardCharsets.UTF_8))
+                    .name("forwarded").value(true)
+                    .endObject();
+        }
+        writer.endArray();
+        writer.flush();
+
+        return receiptOutput;
+    }
+}
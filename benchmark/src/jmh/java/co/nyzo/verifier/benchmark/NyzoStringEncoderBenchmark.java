@@ -0,0 +1,125 @@
+package co.nyzo.verifier.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import co.nyzo.verifier.FieldByteSize;
+import co.nyzo.verifier.nyzoString.NyzoString;
+import co.nyzo.verifier.nyzoString.NyzoStringCache;
+import co.nyzo.verifier.nyzoString.NyzoStringEncoder;
+import co.nyzo.verifier.nyzoString.NyzoStringPublicIdentifier;
+import co.nyzo.verifier.nyzoString.NyzoStringTransaction;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NyzoStringEncoderBenchmark {
+
+    private NyzoStringPublicIdentifier identifier;
+    private String identifierString;
+    private NyzoStringTransaction transaction;
+    private String transactionString;
+    private List<NyzoString> identifiers;
+    private StringBuilder output;
+
+    @Setup
+    public void setUp() {
+
+        Random random = BenchmarkData.random();
+        identifier = new NyzoStringPublicIdentifier(BenchmarkData.randomBytes(random, FieldByteSize.identifier));
+        identifierString = NyzoStringEncoder.encode(identifier);
+
+        byte[] signerSeed = BenchmarkData.randomBytes(random, FieldByteSize.seed);
+        transaction = new NyzoStringTransaction(BenchmarkData.standardTransaction(random, signerSeed));
+        transactionString = NyzoStringEncoder.encode(transaction);
+
+        identifiers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            identifiers.add(new NyzoStringPublicIdentifier(BenchmarkData.randomBytes(random,
+                    FieldByteSize.identifier)));
+        }
+        output = new StringBuilder();
+    }
+
+    @Benchmark
+    public String encodePublicIdentifier() {
+        return NyzoStringEncoder.encode(identifier);
+    }
+
+    @Benchmark
+    public StringBuilder encodeOneHundredPublicIdentifiers() throws IOException {
+        output.setLength(0);
+        NyzoStringEncoder.encode(identifiers, "\n", output);
+        return output;
+    }
+
+    @Benchmark
+    public NyzoString decodePublicIdentifier() {
+        return NyzoStringEncoder.decode(identifierString);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public NyzoString decodePublicIdentifierFourThreads() {
+        return NyzoStringEncoder.decode(identifierString);
+    }
+
+    @Benchmark
+    public String encodeTransaction() {
+        return NyzoStringEncoder.encode(transaction);
+    }
+
+    @Benchmark
+    public NyzoString decodeTransaction() {
+        return NyzoStringEncoder.decode(transactionString);
+    }
+
+    @Benchmark
+    public NyzoString decodePublicIdentifierCached(CacheState cacheState) {
+        return NyzoStringEncoder.decode(identifierString);
+    }
+
+    @Benchmark
+    public String encodeTransactionCached(CacheState cacheState) {
+        return NyzoStringEncoder.encode(transaction);
+    }
+
+    @Benchmark
+    public NyzoString decodeTransactionCached(CacheState cacheState) {
+        return NyzoStringEncoder.decode(transactionString);
+    }
+
+    @State(Scope.Benchmark)
+    public static class CacheState {
+
+        // The cache is static, so it is only enabled for the benchmarks that use this state.
+        @Setup
+        public void setUp() {
+            NyzoStringCache.setMaximumSize(16);
+        }
+
+        @TearDown
+        public void tearDown() {
+            NyzoStringCache.setMaximumSize(0);
+        }
+    }
+}
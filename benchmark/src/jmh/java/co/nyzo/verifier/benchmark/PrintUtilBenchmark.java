@@ -0,0 +1,46 @@
+package co.nyzo.verifier.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import co.nyzo.verifier.util.PrintUtil;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrintUtilBenchmark {
+
+    // The amount is a typical Micropay amount, written as it is in a payment prompt and read as it is from settings.
+    private long amount;
+    private String amountString;
+
+    @Setup
+    public void setUp() {
+
+        amount = 1_250_000L;
+        amountString = "1.25";
+    }
+
+    @Benchmark
+    public String printAmount() {
+        return PrintUtil.printAmount(amount);
+    }
+
+    @Benchmark
+    public long parseAmount() {
+        return PrintUtil.parseAmount(amountString, -1L);
+    }
+}
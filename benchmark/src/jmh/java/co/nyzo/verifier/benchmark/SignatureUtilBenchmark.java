@@ -0,0 +1,65 @@
+package co.nyzo.verifier.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import co.nyzo.verifier.FieldByteSize;
+import co.nyzo.verifier.Transaction;
+import co.nyzo.verifier.util.SignatureUtil;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignatureUtilBenchmark {
+
+    private byte[] signerSeed;
+    private byte[] signingBytes;
+    private byte[] signature;
+    private byte[] senderIdentifier;
+
+    @Setup
+    public void setUp() {
+
+        // The signed bytes are the signing form of a standard transaction, as they are for every payment.
+        Random random = BenchmarkData.random();
+        signerSeed = BenchmarkData.randomBytes(random, FieldByteSize.seed);
+        Transaction transaction = BenchmarkData.standardTransaction(random, signerSeed);
+        signingBytes = transaction.getBytes(true);
+        signature = transaction.getSignature();
+        senderIdentifier = transaction.getSenderIdentifier();
+        if (!SignatureUtil.signatureIsValid(signature, signingBytes, senderIdentifier)) {
+            throw new IllegalStateException("benchmark signature is not valid");
+        }
+    }
+
+    @Benchmark
+    public byte[] signBytes() {
+        return SignatureUtil.signBytes(signingBytes, signerSeed);
+    }
+
+    @Benchmark
+    public boolean signatureIsValid() {
+        return SignatureUtil.signatureIsValid(signature, signingBytes, senderIdentifier);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean signatureIsValidFourThreads() {
+        return SignatureUtil.signatureIsValid(signature, signingBytes, senderIdentifier);
+    }
+}
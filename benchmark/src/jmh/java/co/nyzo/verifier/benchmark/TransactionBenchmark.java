@@ -0,0 +1,134 @@
+package co.nyzo.verifier.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import co.nyzo.verifier.FieldByteSize;
+import co.nyzo.verifier.Transaction;
+import co.nyzo.verifier.TransactionView;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionBenchmark {
+
+    private byte[] signerSeed;
+    private Transaction standardTransaction;
+    private byte[] standardTransactionBytes;
+    private Transaction v1CycleTransaction;
+    private byte[] v1CycleTransactionBytes;
+    private Transaction v2CycleTransaction;
+    private byte[] v2CycleTransactionBytes;
+    private ByteBuffer outputBuffer;
+
+    @Setup
+    public void setUp() {
+
+        Random random = BenchmarkData.random();
+        signerSeed = BenchmarkData.randomBytes(random, FieldByteSize.seed);
+
+        standardTransaction = BenchmarkData.standardTransaction(random, signerSeed);
+        standardTransactionBytes = standardTransaction.getBytes(false);
+
+        v1CycleTransaction = BenchmarkData.v1CycleTransaction(random);
+        v1CycleTransactionBytes = v1CycleTransaction.getBytes(false);
+
+        v2CycleTransaction = BenchmarkData.v2CycleTransaction(random);
+        v2CycleTransactionBytes = v2CycleTransaction.getBytes(false);
+
+        outputBuffer = ByteBuffer.allocateDirect(v2CycleTransactionBytes.length);
+    }
+
+    @Benchmark
+    public byte[] standardGetBytes() {
+        return standardTransaction.getBytes(false);
+    }
+
+    @Benchmark
+    public byte[] standardGetSigningBytes() {
+        return standardTransaction.getBytes(true);
+    }
+
+    @Benchmark
+    public byte[] standardGetTransactionHash() {
+        return standardTransaction.getTransactionHash();
+    }
+
+    @Benchmark
+    public ByteBuffer standardWriteTo() {
+        outputBuffer.clear();
+        standardTransaction.writeTo(outputBuffer);
+        return outputBuffer;
+    }
+
+    @Benchmark
+    public ByteBuffer standardWriteSigningBytesTo() {
+        outputBuffer.clear();
+        standardTransaction.writeSigningBytesTo(outputBuffer);
+        return outputBuffer;
+    }
+
+    @Benchmark
+    public Transaction standardFromByteBuffer() {
+        return Transaction.fromByteBuffer(ByteBuffer.wrap(standardTransactionBytes));
+    }
+
+    @Benchmark
+    public boolean standardFromByteBufferSignatureIsValid() {
+        return Transaction.fromByteBuffer(ByteBuffer.wrap(standardTransactionBytes)).signatureIsValid();
+    }
+
+    @Benchmark
+    public long standardViewAmountAfterFee() {
+        return TransactionView.fromByteBuffer(ByteBuffer.wrap(standardTransactionBytes)).getAmountAfterFee();
+    }
+
+    @Benchmark
+    public boolean standardViewSignatureIsValid() {
+        return TransactionView.fromByteBuffer(ByteBuffer.wrap(standardTransactionBytes)).signatureIsValid();
+    }
+
+    @Benchmark
+    public Transaction standardCreateAndSign() {
+        return Transaction.standardTransaction(standardTransaction.getTimestamp(), standardTransaction.getAmount(),
+                standardTransaction.getReceiverIdentifier(), 0L, Transaction.genesisBlockHash,
+                standardTransaction.getSenderData(), signerSeed);
+    }
+
+    @Benchmark
+    public byte[] v1CycleGetBytes() {
+        return v1CycleTransaction.getBytes(false);
+    }
+
+    @Benchmark
+    public Transaction v1CycleFromByteBuffer() {
+        return Transaction.fromByteBuffer(ByteBuffer.wrap(v1CycleTransactionBytes), 0L, new byte[FieldByteSize.hash],
+                false);
+    }
+
+    @Benchmark
+    public byte[] v2CycleGetBytes() {
+        return v2CycleTransaction.getBytes(false);
+    }
+
+    @Benchmark
+    public Transaction v2CycleFromByteBuffer() {
+        return Transaction.fromByteBuffer(ByteBuffer.wrap(v2CycleTransactionBytes), 0L, new byte[FieldByteSize.hash],
+                true);
+    }
+}
@@ -0,0 +1,70 @@
+package co.nyzo.verifier.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import co.nyzo.verifier.FieldByteSize;
+import co.nyzo.verifier.nyzoString.NyzoStringEncoder;
+import co.nyzo.verifier.nyzoString.NyzoStringTransaction;
+import co.nyzo.verifier.web.UrlBuilder;
+import co.nyzo.verifier.web.WebUtil;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WebUtilBenchmark {
+
+    // The callback URL is built with two transaction strings, as it is after every payment. The query is a Micropay
+    // link with an encoded display name and client URL.
+    private static final String callbackUrl = "https://micropay.example.com/callback";
+
+    private String transactionString;
+    private String supplementalTransactionString;
+    private String encodedQueryValue;
+    private String displayName;
+
+    @Setup
+    public void setUp() {
+
+        Random random = BenchmarkData.random();
+        transactionString = NyzoStringEncoder.encode(new NyzoStringTransaction(BenchmarkData.standardTransaction(
+                random, BenchmarkData.randomBytes(random, FieldByteSize.seed))));
+        supplementalTransactionString = NyzoStringEncoder.encode(new NyzoStringTransaction(
+                BenchmarkData.standardTransaction(random, BenchmarkData.randomBytes(random, FieldByteSize.seed))));
+        displayName = "Café Ünïcødé: articles & essays (∩0.000100 each)";
+        encodedQueryValue = WebUtil.applyPercentEncoding("https://client.example.com/api/forwardTransaction?" +
+                "tag=" + displayName);
+    }
+
+    @Benchmark
+    public String buildCallbackUrl() {
+        return new UrlBuilder(callbackUrl)
+                .addParameter("transaction", transactionString)
+                .addParameter("supplementalTransaction", supplementalTransactionString)
+                .toString();
+    }
+
+    @Benchmark
+    public String applyPercentEncoding() {
+        return WebUtil.applyPercentEncoding(displayName);
+    }
+
+    @Benchmark
+    public String removePercentEncoding() {
+        return WebUtil.removePercentEncoding(encodedQueryValue);
+    }
+}
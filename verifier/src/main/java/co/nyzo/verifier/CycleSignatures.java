@@ -0,0 +1,276 @@
+package co.nyzo.verifier;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class CycleSignatures {
+
+    // The signatures on a cycle transaction are stored in their serialized form: fixed-size records, packed into a
+    // single array and kept in order of verifier identifier. The v1 blockchain stores an identifier and signature for
+    // each verifier. The v2 (balance list) blockchain stores a timestamp, identifier, vote, and signature.
+    private static final int v1IdentifierOffset = 0;
+    private static final int v1SignatureOffset = v1IdentifierOffset + FieldByteSize.identifier;
+    private static final int v1RecordSize = v1SignatureOffset + FieldByteSize.signature;
+
+    private static final int v2TimestampOffset = 0;
+    private static final int v2IdentifierOffset = v2TimestampOffset + FieldByteSize.timestamp;
+    private static final int v2VoteOffset = v2IdentifierOffset + FieldByteSize.identifier;
+    private static final int v2SignatureOffset = v2VoteOffset + FieldByteSize.booleanField;
+    private static final int v2RecordSize = v2SignatureOffset + FieldByteSize.signature;
+
+    private final boolean balanceList;
+    private final int recordSize;
+    private final int identifierOffset;
+    private final int signatureOffset;
+
+    private byte[] records;
+    private int size;
+
+    public CycleSignatures(boolean balanceList) {
+        this(balanceList, 0);
+    }
+
+    private CycleSignatures(boolean balanceList, int initialCapacity) {
+        this.balanceList = balanceList;
+        this.recordSize = balanceList ? v2RecordSize : v1RecordSize;
+        this.identifierOffset = balanceList ? v2IdentifierOffset : v1IdentifierOffset;
+        this.signatureOffset = balanceList ? v2SignatureOffset : v1SignatureOffset;
+        this.records = new byte[initialCapacity * recordSize];
+        this.size = 0;
+    }
+
+    public boolean isBalanceList() {
+        return balanceList;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public synchronized int getByteSize() {
+        return FieldByteSize.unnamedInteger + size * recordSize;
+    }
+
+    public synchronized void put(byte[] identifier, byte[] signature) {
+
+        if (balanceList) {
+            throw new IllegalStateException("v2 cycle signatures require a timestamp and vote");
+        }
+
+        int offset = recordOffsetForPut(identifier);
+        System.arraycopy(identifier, 0, records, offset + v1IdentifierOffset, FieldByteSize.identifier);
+        System.arraycopy(signature, 0, records, offset + v1SignatureOffset, FieldByteSize.signature);
+    }
+
+    public synchronized void put(long timestamp, byte[] identifier, byte vote, byte[] signature) {
+
+        if (!balanceList) {
+            throw new IllegalStateException("v1 cycle signatures do not have a timestamp or vote");
+        }
+
+        int offset = recordOffsetForPut(identifier);
+        putLong(records, offset + v2TimestampOffset, timestamp);
+        System.arraycopy(identifier, 0, records, offset + v2IdentifierOffset, FieldByteSize.identifier);
+        records[offset + v2VoteOffset] = vote == Transaction.voteYes ? Transaction.voteYes : Transaction.voteNo;
+        System.arraycopy(signature, 0, records, offset + v2SignatureOffset, FieldByteSize.signature);
+    }
+
+    private int recordOffsetForPut(byte[] identifier) {
+
+        // As with a map, a record for an identifier that is already present is replaced. Otherwise, the records after
+        // the insertion point are shifted to make room. Records usually arrive in order, so the search starts with a
+        // check of the last record.
+        int index;
+        if (size == 0 || compareIdentifier(size - 1, identifier, 0) < 0) {
+            index = -(size + 1);
+        } else {
+            index = indexOf(identifier, 0);
+        }
+
+        if (index < 0) {
+            index = -(index + 1);
+            ensureCapacity(size + 1);
+            System.arraycopy(records, index * recordSize, records, (index + 1) * recordSize,
+                    (size - index) * recordSize);
+            size++;
+        }
+
+        return index * recordSize;
+    }
+
+    private void ensureCapacity(int capacity) {
+
+        if (records.length < capacity * recordSize) {
+            int newCapacity = Math.max(capacity, Math.max(16, records.length / recordSize * 2));
+            records = Arrays.copyOf(records, newCapacity * recordSize);
+        }
+    }
+
+    private int indexOf(byte[] identifier, int identifierOffset) {
+
+        // This is a binary search returning the index of the identifier, if present, or (-(insertion point) - 1).
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareIdentifier(middle, identifier, identifierOffset);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -(low + 1);
+    }
+
+    private int compareIdentifier(int index, byte[] identifier, int offset) {
+
+        // Identifiers are ordered by unsigned byte values, as with Transaction.identifierComparator.
+        int recordIdentifierOffset = index * recordSize + identifierOffset;
+        int result = 0;
+        for (int i = 0; i < FieldByteSize.identifier && result == 0; i++) {
+            result = (records[recordIdentifierOffset + i] & 0xff) - (identifier[offset + i] & 0xff);
+        }
+
+        return result;
+    }
+
+    public synchronized boolean containsIdentifier(byte[] identifier) {
+        return indexOf(identifier, 0) >= 0;
+    }
+
+    public synchronized byte[] getIdentifier(int index) {
+        return copyOfRange(index, identifierOffset, FieldByteSize.identifier);
+    }
+
+    public synchronized byte[] getSignature(int index) {
+        return copyOfRange(index, signatureOffset, FieldByteSize.signature);
+    }
+
+    public synchronized byte[] getSignature(byte[] identifier) {
+
+        int index = indexOf(identifier, 0);
+        return index < 0 ? null : getSignature(index);
+    }
+
+    public synchronized long getTimestamp(int index) {
+
+        checkIndex(index);
+        return balanceList ? ByteBuffer.wrap(records, index * recordSize + v2TimestampOffset, FieldByteSize.timestamp)
+                .getLong() : 0L;
+    }
+
+    public synchronized byte getVote(int index) {
+
+        checkIndex(index);
+        return balanceList ? records[index * recordSize + v2VoteOffset] : Transaction.voteNo;
+    }
+
+    private byte[] copyOfRange(int index, int fieldOffset, int length) {
+
+        checkIndex(index);
+        int start = index * recordSize + fieldOffset;
+        return Arrays.copyOfRange(records, start, start + length);
+    }
+
+    private void checkIndex(int index) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+    }
+
+    public synchronized void writeTo(ByteBuffer buffer) {
+
+        // The records are already in serialized form and in order, so this is a single copy after the count.
+        buffer.putInt(size);
+        buffer.put(records, 0, size * recordSize);
+    }
+
+    public synchronized CycleSignatures copy() {
+
+        CycleSignatures copy = new CycleSignatures(balanceList, size);
+        System.arraycopy(records, 0, copy.records, 0, size * recordSize);
+        copy.size = size;
+
+        return copy;
+    }
+
+    public static CycleSignatures fromByteBuffer(ByteBuffer buffer, boolean balanceList, byte[] excludedIdentifier) {
+
+        // The records are read with a single copy. Serialized signatures are normally in order with no duplicates and
+        // no excluded identifier, and in that case they are used as read. Otherwise, they are inserted one at a time,
+        // which orders them, keeps the last record for a duplicated identifier, and drops the excluded identifier.
+        int numberOfSignatures = buffer.getInt();
+
+        // The count is checked against the bytes remaining before anything is allocated, so a count that is negative or
+        // larger than the buffer can hold fails as a short buffer would, rather than with an oversized allocation.
+        int recordSize = balanceList ? v2RecordSize : v1RecordSize;
+        if (numberOfSignatures < 0 || numberOfSignatures > buffer.remaining() / recordSize) {
+            throw new BufferUnderflowException();
+        }
+        CycleSignatures signatures = new CycleSignatures(balanceList, numberOfSignatures);
+        byte[] read = signatures.records;
+        buffer.get(read, 0, numberOfSignatures * signatures.recordSize);
+
+        if (balanceList) {
+            for (int voteOffset = v2VoteOffset; voteOffset < numberOfSignatures * v2RecordSize;
+                 voteOffset += v2RecordSize) {
+                read[voteOffset] = read[voteOffset] == 1 ? Transaction.voteYes : Transaction.voteNo;
+            }
+        }
+
+        boolean usable = true;
+        for (int i = 0; i < numberOfSignatures && usable; i++) {
+            int identifierStart = i * signatures.recordSize + signatures.identifierOffset;
+            usable = (i == 0 || signatures.compareIdentifier(i - 1, read, identifierStart) < 0) &&
+                    (excludedIdentifier == null || !identifierEquals(read, identifierStart, excludedIdentifier));
+            if (usable) {
+                signatures.size = i + 1;
+            }
+        }
+
+        if (!usable) {
+            // The count was bounded by the buffer above, so this allocation is no larger than the records read.
+            signatures = new CycleSignatures(balanceList, numberOfSignatures);
+            for (int i = 0; i < numberOfSignatures; i++) {
+                int recordStart = i * signatures.recordSize;
+                int identifierStart = recordStart + signatures.identifierOffset;
+                if (excludedIdentifier == null || !identifierEquals(read, identifierStart, excludedIdentifier)) {
+                    byte[] identifier = Arrays.copyOfRange(read, identifierStart,
+                            identifierStart + FieldByteSize.identifier);
+                    int offset = signatures.recordOffsetForPut(identifier);
+                    System.arraycopy(read, recordStart, signatures.records, offset, signatures.recordSize);
+                }
+            }
+        }
+
+        return signatures;
+    }
+
+    private static boolean identifierEquals(byte[] array, int offset, byte[] identifier) {
+
+        boolean equal = true;
+        for (int i = 0; i < FieldByteSize.identifier && equal; i++) {
+            equal = array[offset + i] == identifier[i];
+        }
+
+        return equal;
+    }
+
+    private static void putLong(byte[] array, int offset, long value) {
+
+        for (int i = 7; i >= 0; i--) {
+            array[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+}
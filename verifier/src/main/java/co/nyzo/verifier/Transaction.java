@@ -1,15 +1,16 @@
 package co.nyzo.verifier;
 
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+import co.nyzo.verifier.util.BatchSignatureVerifier;
 import co.nyzo.verifier.util.ByteUtil;
 import co.nyzo.verifier.util.HashUtil;
 import co.nyzo.verifier.util.KeyUtil;
@@ -47,18 +48,39 @@ public class Transaction implements MessageObject {
     // Included in all types except type-0 (coin generation)
     private byte[] signature;            // 64 bytes (512-bit signature)
 
-    // Only included in type-3 transactions for the v1 blockchain.
-    private Map<ByteBuffer, byte[]> cycleSignatures;
-
-    // Only included in type-3 transactions for the balance list for the v2 blockchain.
-    private Map<ByteBuffer, Transaction> cycleSignatureTransactions;
+    // Only included in type-3 transactions. These are identifier/signature pairs for the v1 blockchain, and the
+    // fields of cycle-signature transactions for the balance list of the v2 blockchain.
+    private CycleSignatures cycleSignatures;
 
     // Only included in type-4 (cycle signature) transactions.
     private byte[] cycleTransactionSignature;
     private byte cycleTransactionVote = voteNo;
 
 
-    private SignatureState signatureState = SignatureState.Undetermined;
+    // The signing form is never larger than this. Signing writes it to a per-thread buffer of this size, so no array is
+    // allocated for it.
+    private static final int maximumSigningByteSize = FieldByteSize.transactionType + FieldByteSize.timestamp +
+            FieldByteSize.transactionAmount + FieldByteSize.identifier + FieldByteSize.hash +
+            FieldByteSize.identifier + FieldByteSize.hash;
+    private static final ThreadLocal<ByteBuffer> signingBuffer = new ThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+            return ByteBuffer.allocate(maximumSigningByteSize);
+        }
+    };
+
+    // Transactions are not modified after they are created, so these forms are computed the first time they are
+    // needed and then reused. Each is computed from fields that do not change, so threads that compute one at the
+    // same time get equal results, and volatile publication is all that is needed. The serialized form of a cycle
+    // transaction includes signatures that may be added after the transaction is created, so it is not cached.
+    private volatile byte[] serializedBytes;
+    private volatile byte[] signingBytes;
+    private volatile byte[] senderDataHash;
+    private volatile byte[] transactionHash;
+
+    // The signature state is determined the first time it is requested and then reused. It is volatile so that a
+    // state determined on one thread, such as in a batch verification, is visible to all others.
+    private volatile SignatureState signatureState = SignatureState.Undetermined;
 
     public static final Comparator<ByteBuffer> identifierComparator = new Comparator<ByteBuffer>() {
         @Override
@@ -131,6 +153,128 @@ public class Transaction implements MessageObject {
         return signature;
     }
 
+    public CycleSignatures getCycleSignatures() {
+        return cycleSignatures;
+    }
+
+    public List<Transaction> getCycleSignatureTransactions() {
+
+        // The cycle-signature transactions of the v2 blockchain are built from the stored fields. Each signs the
+        // signature of this transaction.
+        List<Transaction> transactions = new ArrayList<>();
+        if (cycleSignatures != null && cycleSignatures.isBalanceList()) {
+            for (int i = 0; i < cycleSignatures.size(); i++) {
+                transactions.add(cycleSignatureTransaction(cycleSignatures.getTimestamp(i),
+                        cycleSignatures.getIdentifier(i), cycleSignatures.getVote(i), signature,
+                        cycleSignatures.getSignature(i)));
+            }
+        }
+
+        return transactions;
+    }
+
+    public byte[] getCycleTransactionSignature() {
+        return cycleTransactionSignature;
+    }
+
+    public byte getCycleTransactionVote() {
+        return cycleTransactionVote;
+    }
+
+    public SignatureState getSignatureState() {
+        return signatureState;
+    }
+
+    public boolean signatureIsValid() {
+
+        // Coin-generation transactions are not signed.
+        if (signatureState == SignatureState.Undetermined) {
+            if (type == typeCoinGeneration) {
+                signatureState = SignatureState.Valid;
+            } else {
+                signatureState = SignatureUtil.signatureIsValid(signature, signingBytes(), senderIdentifier) ?
+                        SignatureState.Valid : SignatureState.Invalid;
+            }
+        }
+
+        return signatureState == SignatureState.Valid;
+    }
+
+    public static boolean[] batchSignaturesAreValid(List<Transaction> transactions) {
+
+        // The signatures of all transactions not already known to be valid are verified together with
+        // BatchSignatureVerifier. The batch accepts signatures with the cofactored equation of RFC 8032, and
+        // signatureIsValid() uses the cofactorless equation. The two differ only for signatures deliberately
+        // constructed with small-order components. A signature rejected by the batch is also rejected by
+        // signatureIsValid(), so rejections are recorded in the signature state. Acceptances are returned but not
+        // recorded, so signatureIsValid() gives the same result regardless of whether this method has seen the
+        // transaction. A transaction already known to be valid is valid under both equations. One known to be invalid
+        // is verified again, so the results of this method do not depend on earlier calls to signatureIsValid().
+        boolean[] results = new boolean[transactions.size()];
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            Transaction transaction = transactions.get(i);
+            if (transaction.type == typeCoinGeneration || transaction.signatureState == SignatureState.Valid) {
+                results[i] = transaction.signatureIsValid();
+            } else {
+                indices.add(i);
+            }
+        }
+
+        byte[][] signatures = new byte[indices.size()][];
+        byte[][] signedBytes = new byte[indices.size()][];
+        byte[][] identifiers = new byte[indices.size()][];
+        for (int i = 0; i < indices.size(); i++) {
+            Transaction transaction = transactions.get(indices.get(i));
+            signatures[i] = transaction.signature;
+            signedBytes[i] = transaction.signingBytes();
+            identifiers[i] = transaction.senderIdentifier;
+        }
+
+        boolean[] batchResults = BatchSignatureVerifier.signaturesAreValid(signatures, signedBytes, identifiers);
+        for (int i = 0; i < indices.size(); i++) {
+            int index = indices.get(i);
+            if (!batchResults[i]) {
+                transactions.get(index).signatureState = SignatureState.Invalid;
+            }
+            results[index] = batchResults[i];
+        }
+
+        return results;
+    }
+
+    public boolean cycleSignatureTransactionsAreValid() {
+
+        // For a v2 cycle transaction, this verifies the signatures of all verifiers on the cycle transaction in a
+        // single batch. Each cycle signature transaction signs this transaction's signature. As with
+        // batchSignaturesAreValid(), signatures are accepted with the cofactored equation.
+        boolean allAreValid = true;
+        List<Transaction> signatureTransactions = getCycleSignatureTransactions();
+        if (!signatureTransactions.isEmpty()) {
+            for (boolean result : batchSignaturesAreValid(signatureTransactions)) {
+                allAreValid &= result;
+            }
+        }
+
+        return allAreValid;
+    }
+
+    public byte[] signatureForSeed(byte[] signerSeed) {
+
+        // This signs the signing form of this transaction. If the form has not been cached, it is written to a buffer
+        // that is reused by the next call on this thread, so no array is allocated for it.
+        byte[] signingBytes = this.signingBytes;
+        if (signingBytes != null) {
+            return SignatureUtil.signBytes(signingBytes, signerSeed);
+        }
+
+        ByteBuffer buffer = signingBuffer.get();
+        buffer.clear();
+        writeTo(buffer, true);
+
+        return SignatureUtil.signBytes(buffer.array(), 0, buffer.position(), signerSeed);
+    }
+
     private void assignPreviousBlockHash() {
 
         // This class is kept structurally similar to the Transaction class in the verifier codebase. However, the
@@ -181,7 +325,7 @@ public class Transaction implements MessageObject {
         transaction.previousBlockHash = previousBlockHash;
         transaction.senderIdentifier = KeyUtil.identifierForSeed(signerSeed);
         transaction.senderData = senderData;
-        transaction.signature = SignatureUtil.signBytes(transaction.getBytes(true), signerSeed);
+        transaction.signature = transaction.signatureForSeed(signerSeed);
 
         return transaction;
     }
@@ -217,7 +361,7 @@ public class Transaction implements MessageObject {
         transaction.previousBlockHash = previousBlockHash;
         transaction.senderIdentifier = KeyUtil.identifierForSeed(signerSeed);
         transaction.senderData = senderData;
-        transaction.signature = SignatureUtil.signBytes(transaction.getBytes(true), signerSeed);
+        transaction.signature = transaction.signatureForSeed(signerSeed);
 
         return transaction;
     }
@@ -234,8 +378,7 @@ public class Transaction implements MessageObject {
         transaction.senderIdentifier = cycleTransaction.senderIdentifier;
         transaction.senderData = cycleTransaction.senderData;
         transaction.signature = cycleTransaction.signature;
-        transaction.cycleSignatures = new ConcurrentHashMap<>(cycleTransaction.cycleSignatures);
-        transaction.cycleSignatureTransactions = new ConcurrentHashMap<>(cycleTransaction.cycleSignatureTransactions);
+        transaction.cycleSignatures = cycleTransaction.cycleSignatures.copy();
 
         return transaction;
     }
@@ -246,6 +389,32 @@ public class Transaction implements MessageObject {
                                                Map<ByteBuffer, byte[]> cycleSignatures,
                                                Map<ByteBuffer, Transaction> cycleSignatureTransactions) {
 
+        // As before, the v1 signatures are used if present, and the v2 signature transactions are used otherwise.
+        CycleSignatures signatures;
+        if (cycleSignatures != null && !cycleSignatures.isEmpty()) {
+            signatures = new CycleSignatures(false);
+            for (Map.Entry<ByteBuffer, byte[]> entry : cycleSignatures.entrySet()) {
+                signatures.put(entry.getKey().array(), entry.getValue());
+            }
+        } else {
+            signatures = new CycleSignatures(true);
+            Collection<Transaction> signatureTransactions = cycleSignatureTransactions == null ?
+                    Collections.<Transaction>emptyList() : cycleSignatureTransactions.values();
+            for (Transaction signatureTransaction : signatureTransactions) {
+                signatures.put(signatureTransaction.timestamp, signatureTransaction.senderIdentifier,
+                        signatureTransaction.cycleTransactionVote, signatureTransaction.signature);
+            }
+        }
+
+        return cycleTransaction(timestamp, amount, receiverIdentifier, previousHashHeight, previousBlockHash,
+                senderIdentifier, senderData, signature, signatures);
+    }
+
+    public static Transaction cycleTransaction(long timestamp, long amount, byte[] receiverIdentifier,
+                                               long previousHashHeight, byte[] previousBlockHash,
+                                               byte[] senderIdentifier, byte[] senderData, byte[] signature,
+                                               CycleSignatures cycleSignatures) {
+
         Transaction transaction = new Transaction();
         transaction.type = typeCycle;
         transaction.timestamp = timestamp;
@@ -257,7 +426,6 @@ public class Transaction implements MessageObject {
         transaction.senderData = senderData;
         transaction.signature = signature;
         transaction.cycleSignatures = cycleSignatures;
-        transaction.cycleSignatureTransactions = cycleSignatureTransactions;
 
         return transaction;
     }
@@ -274,9 +442,8 @@ public class Transaction implements MessageObject {
         transaction.previousBlockHash = genesisBlockHash;
         transaction.senderIdentifier = KeyUtil.identifierForSeed(signerSeed);  // initiator identifier, in this case
         transaction.senderData = senderData;
-        transaction.signature = SignatureUtil.signBytes(transaction.getBytes(true), signerSeed);
-        transaction.cycleSignatures = new ConcurrentHashMap<>();
-        transaction.cycleSignatureTransactions = new ConcurrentHashMap<>();
+        transaction.signature = transaction.signatureForSeed(signerSeed);
+        transaction.cycleSignatures = new CycleSignatures(false);
 
         return transaction;
     }
@@ -305,7 +472,7 @@ public class Transaction implements MessageObject {
         transaction.senderIdentifier = KeyUtil.identifierForSeed(signerSeed);
         transaction.cycleTransactionVote = cycleTransactionVote;
         transaction.cycleTransactionSignature = cycleTransactionSignature;
-        transaction.signature = SignatureUtil.signBytes(transaction.getBytes(true), signerSeed);
+        transaction.signature = transaction.signatureForSeed(signerSeed);
 
         return transaction;
     }
@@ -354,19 +521,9 @@ public class Transaction implements MessageObject {
                         FieldByteSize.signature;      // transaction signature
 
                 if (type == typeCycle) {
-                    // These are stored differently in the v1 and v2 blockchains. The cycleSignatures field is used for
-                    // the v1 blockchain, and the cycleSignatureTransactions field is used for the v2 blockchain.
-                    if (cycleSignatures != null && !cycleSignatures.isEmpty()) {
-                        // The v1 blockchain stores identifier and signature for each.
-                        size += FieldByteSize.unnamedInteger + cycleSignatures.size() * (FieldByteSize.identifier +
-                                FieldByteSize.signature);
-                    } else {
-                        // The v2 blockchain stores timestamp, identifier, vote, and signature for each.
-                        size += FieldByteSize.unnamedInteger + cycleSignatureTransactions.size() *
-                                (FieldByteSize.timestamp + FieldByteSize.identifier + FieldByteSize.booleanField +
-                                        FieldByteSize.signature);
-
-                    }
+                    // These are stored differently in the v1 and v2 blockchains. The v1 blockchain stores identifier
+                    // and signature for each, and the v2 blockchain stores timestamp, identifier, vote, and signature.
+                    size += cycleSignatures.getByteSize();
                 }
             }
         }
@@ -382,9 +539,112 @@ public class Transaction implements MessageObject {
 
     public byte[] getBytes(boolean forSigning) {
 
-        byte[] array = new byte[getByteSize(forSigning)];
+        // A copy is returned so that callers cannot modify the cached form.
+        byte[] array = forSigning ? signingBytes() : serializedBytes();
+        return Arrays.copyOf(array, array.length);
+    }
+
+    public ByteBuffer getBytesBuffer(boolean forSigning) {
+
+        // This is a read-only view of the cached form, for callers that only need to read it.
+        return ByteBuffer.wrap(forSigning ? signingBytes() : serializedBytes()).asReadOnlyBuffer();
+    }
+
+    public byte[] getSenderDataHash() {
+
+        byte[] hash = senderDataHash();
+        return hash == null ? null : Arrays.copyOf(hash, FieldByteSize.hash);
+    }
+
+    public byte[] getTransactionHash() {
+
+        byte[] hash = transactionHash();
+        return Arrays.copyOf(hash, FieldByteSize.hash);
+    }
+
+    private byte[] serializedBytes() {
+
+        byte[] array = serializedBytes;
+        if (array == null) {
+            array = new byte[getByteSize(false)];
+            write(ByteBuffer.wrap(array), false);
+            if (type != typeCycle) {
+                serializedBytes = array;
+            }
+        }
+
+        return array;
+    }
+
+    private byte[] signingBytes() {
+
+        byte[] array = signingBytes;
+        if (array == null) {
+            array = new byte[getByteSize(true)];
+            write(ByteBuffer.wrap(array), true);
+            signingBytes = array;
+        }
+
+        return array;
+    }
+
+    private byte[] senderDataHash() {
+
+        // Only seed, standard, and cycle transactions have sender data.
+        byte[] hash = senderDataHash;
+        if (hash == null && senderData != null) {
+            hash = HashUtil.doubleSHA256(senderData);
+            senderDataHash = hash;
+        }
+
+        return hash;
+    }
+
+    private byte[] transactionHash() {
+
+        // The transaction hash is the double-SHA-256 of the serialized form.
+        byte[] hash = transactionHash;
+        if (hash == null) {
+            hash = new byte[FieldByteSize.hash];
+            byte[] array = serializedBytes();
+            HashUtil.doubleSHA256(array, 0, array.length, hash, 0);
+            if (type != typeCycle) {
+                transactionHash = hash;
+            }
+        }
+
+        return hash;
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+
+        writeTo(buffer, false);
+    }
+
+    public void writeSigningBytesTo(ByteBuffer buffer) {
+
+        writeTo(buffer, true);
+    }
+
+    private void writeTo(ByteBuffer buffer, boolean forSigning) {
+
+        // The space is checked before anything is written, so a buffer that is too small is left unchanged.
+        if (buffer.remaining() < getByteSize(forSigning)) {
+            throw new BufferOverflowException();
+        }
+
+        // A cached form is copied directly.
+        byte[] cached = forSigning ? signingBytes : serializedBytes;
+        if (cached != null) {
+            buffer.put(cached);
+        } else {
+            write(buffer, forSigning);
+        }
+    }
+
+    private void write(ByteBuffer buffer, boolean forSigning) {
 
-        ByteBuffer buffer = ByteBuffer.wrap(array);
+        // This writes the transaction at the position of the buffer and advances the position past it.
         buffer.put(type);
         buffer.putLong(timestamp);
 
@@ -414,7 +674,7 @@ public class Transaction implements MessageObject {
             // blockchain at a later date by replacing it with its double-SHA-256 without compromising the signature
             // integrity.
             if (forSigning) {
-                buffer.put(HashUtil.doubleSHA256(senderData));
+                buffer.put(senderDataHash());
             } else {
                 buffer.put((byte) senderData.length);
                 buffer.put(senderData);
@@ -423,36 +683,13 @@ public class Transaction implements MessageObject {
             if (!forSigning) {
                 buffer.put(signature);
 
-                // For cycle transactions, order the signatures by verifier identifier. In the v1 blockchain, the
-                // cycleSignatures field is used. In the v2 blockchain, the cycleSignatureTransactions field is used.
+                // For cycle transactions, the signatures are ordered by verifier identifier. They are kept in order and
+                // in serialized form, so they are written with a single copy.
                 if (type == typeCycle) {
-                    if (cycleSignatures != null && !cycleSignatures.isEmpty()) {
-                        List<ByteBuffer> signatureIdentifiers = new ArrayList<>(cycleSignatures.keySet());
-                        Collections.sort(signatureIdentifiers, identifierComparator);
-
-                        buffer.putInt(cycleSignatures.size());
-                        for (ByteBuffer identifier : signatureIdentifiers) {
-                            buffer.put(identifier.array());
-                            buffer.put(cycleSignatures.get(identifier));
-                        }
-                    } else {
-                        List<ByteBuffer> signatureIdentifiers = new ArrayList<>(cycleSignatureTransactions.keySet());
-                        Collections.sort(signatureIdentifiers, identifierComparator);
-
-                        buffer.putInt(cycleSignatureTransactions.size());
-                        for (ByteBuffer identifier : signatureIdentifiers) {
-                            Transaction signatureTransaction = cycleSignatureTransactions.get(identifier);
-                            buffer.putLong(signatureTransaction.timestamp);
-                            buffer.put(signatureTransaction.senderIdentifier);
-                            buffer.put(signatureTransaction.cycleTransactionVote);
-                            buffer.put(signatureTransaction.signature);
-                        }
-                    }
+                    cycleSignatures.writeTo(buffer);
                 }
             }
         }
-
-        return array;
     }
 
     public static Transaction fromByteBuffer(ByteBuffer buffer) {
@@ -495,36 +732,13 @@ public class Transaction implements MessageObject {
                         previousBlockHash, senderIdentifier, senderData, signature);
             } else {  // type == typeCycle
 
-                Map<ByteBuffer, byte[]> cycleSignatures = new HashMap<>();
-                Map<ByteBuffer, Transaction> cycleSignatureTransactions = new HashMap<>();
-                int numberOfCycleSignatures = buffer.getInt();
-
-                if (!balanceListCycleTransaction) {
-                    // If not explicitly marked as a balance list cycle transaction, read the signatures as simple
-                    // identifier/signature pairs.
-                    for (int i = 0; i < numberOfCycleSignatures; i++) {
-                        ByteBuffer identifier = ByteBuffer.wrap(Message.getByteArray(buffer, FieldByteSize.identifier));
-                        byte[] cycleSignature = Message.getByteArray(buffer, FieldByteSize.signature);
-                        if (!ByteUtil.arraysAreEqual(identifier.array(), senderIdentifier)) {
-                            cycleSignatures.put(identifier, cycleSignature);
-                        }
-                    }
-                } else {
-                    // When the explicitly marked as a balance list cycle transaction, read the additional fields for
-                    // cycle transaction signatures.
-                    for (int i = 0; i < numberOfCycleSignatures; i++) {
-                        long childTimestamp = buffer.getLong();
-                        byte[] childSenderIdentifier = Message.getByteArray(buffer, FieldByteSize.identifier);
-                        byte childCycleTransactionVote = buffer.get() == 1 ? voteYes : voteNo;
-                        byte[] childSignature = Message.getByteArray(buffer, FieldByteSize.signature);
-                        cycleSignatureTransactions.put(ByteBuffer.wrap(childSenderIdentifier),
-                                cycleSignatureTransaction(childTimestamp, childSenderIdentifier,
-                                        childCycleTransactionVote, signature, childSignature));
-                    }
-                }
+                // If not explicitly marked as a balance list cycle transaction, the signatures are read as simple
+                // identifier/signature pairs, and the signature of the initiator is excluded. Otherwise, the
+                // additional fields for cycle transaction signatures are read.
+                CycleSignatures cycleSignatures = CycleSignatures.fromByteBuffer(buffer, balanceListCycleTransaction,
+                        balanceListCycleTransaction ? null : senderIdentifier);
                 transaction = cycleTransaction(timestamp, amount, receiverIdentifier, previousHashHeight,
-                        previousBlockHash, senderIdentifier, senderData, signature, cycleSignatures,
-                        cycleSignatureTransactions);
+                        previousBlockHash, senderIdentifier, senderData, signature, cycleSignatures);
             }
         } else if (type == typeCycleSignature) {
             byte[] senderIdentifier = Message.getByteArray(buffer, FieldByteSize.identifier);
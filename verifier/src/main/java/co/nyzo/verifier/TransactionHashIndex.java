@@ -0,0 +1,120 @@
+package co.nyzo.verifier;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TransactionHashIndex {
+
+    // This is a bounded set of transaction hashes, used to check whether a transaction has already been seen without
+    // keeping the transaction itself. Only the 32-byte hash is stored for each transaction. As in
+    // SignatureEngineCache, the hashes are divided among stripes, each with its own lock, so that checks for
+    // different transactions rarely contend. Each stripe evicts its oldest hash when it is full.
+
+    private final Stripe[] stripes;
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TransactionHashIndex(int maximumSize, int stripeCount) {
+
+        stripes = new Stripe[stripeCount];
+        int stripeCapacity = Math.max(1, (maximumSize + stripeCount - 1) / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    public boolean add(Transaction transaction) {
+
+        // The transaction returns a copy of its hash, so it does not need to be copied again here.
+        return add(ByteBuffer.wrap(transaction.getTransactionHash()));
+    }
+
+    public boolean add(TransactionView transaction) {
+
+        return add(ByteBuffer.wrap(transaction.getTransactionHash()));
+    }
+
+    public boolean add(byte[] transactionHash) {
+
+        // The hash is copied so that later changes to the caller's array do not affect the index.
+        return add(ByteBuffer.wrap(transactionHash.clone()));
+    }
+
+    private boolean add(ByteBuffer hashBuffer) {
+
+        // This returns true if the hash was not already in the index. Checking and adding are done together under
+        // the stripe lock, so exactly one of several threads adding the same hash sees true.
+        Stripe stripe = stripeForHash(hashBuffer);
+        synchronized (stripe) {
+            return stripe.put(hashBuffer, Boolean.TRUE) == null;
+        }
+    }
+
+    public boolean contains(Transaction transaction) {
+
+        return contains(transaction.getTransactionHash());
+    }
+
+    public boolean contains(byte[] transactionHash) {
+
+        ByteBuffer hashBuffer = ByteBuffer.wrap(transactionHash);
+        Stripe stripe = stripeForHash(hashBuffer);
+        synchronized (stripe) {
+            return stripe.containsKey(hashBuffer);
+        }
+    }
+
+    public boolean remove(byte[] transactionHash) {
+
+        ByteBuffer hashBuffer = ByteBuffer.wrap(transactionHash);
+        Stripe stripe = stripeForHash(hashBuffer);
+        synchronized (stripe) {
+            return stripe.remove(hashBuffer) != null;
+        }
+    }
+
+    public int size() {
+
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+
+        return size;
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private Stripe stripeForHash(ByteBuffer hashBuffer) {
+        return stripes[(hashBuffer.hashCode() & 0x7fffffff) % stripes.length];
+    }
+
+    private class Stripe extends LinkedHashMap<ByteBuffer, Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, false);  // insertion order, so the oldest hash is evicted first
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Boolean> eldest) {
+
+            boolean remove = size() > capacity;
+            if (remove) {
+                evictions.incrementAndGet();
+            }
+
+            return remove;
+        }
+    }
+}
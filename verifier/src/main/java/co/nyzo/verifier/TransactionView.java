@@ -0,0 +1,327 @@
+package co.nyzo.verifier;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import co.nyzo.verifier.util.HashUtil;
+import co.nyzo.verifier.util.SignatureUtil;
+
+public class TransactionView {
+
+    // Offsets of the fields of the serialized form, relative to the start of the transaction. All transactions begin
+    // with a type and timestamp. Seed, standard, and cycle transactions continue with the fields of a coin-generation
+    // transaction, and cycle-signature transactions have their own layout.
+    private static final int typeOffset = 0;
+    private static final int timestampOffset = typeOffset + FieldByteSize.transactionType;
+    private static final int amountOffset = timestampOffset + FieldByteSize.timestamp;
+    private static final int receiverIdentifierOffset = amountOffset + FieldByteSize.transactionAmount;
+    private static final int previousHashHeightOffset = receiverIdentifierOffset + FieldByteSize.identifier;
+    private static final int senderIdentifierOffset = previousHashHeightOffset + FieldByteSize.blockHeight;
+    private static final int senderDataLengthOffset = senderIdentifierOffset + FieldByteSize.identifier;
+    private static final int senderDataOffset = senderDataLengthOffset + 1;
+
+    private static final int cycleSignatureSenderIdentifierOffset = amountOffset;
+    private static final int cycleSignatureVoteOffset = cycleSignatureSenderIdentifierOffset +
+            FieldByteSize.identifier;
+    private static final int cycleTransactionSignatureOffset = cycleSignatureVoteOffset + FieldByteSize.booleanField;
+    private static final int cycleSignatureSignatureOffset = cycleTransactionSignatureOffset + FieldByteSize.signature;
+
+    private static final int maximumSigningByteSize = FieldByteSize.transactionType + FieldByteSize.timestamp +
+            FieldByteSize.transactionAmount + FieldByteSize.identifier + FieldByteSize.hash +
+            FieldByteSize.identifier + FieldByteSize.hash;
+
+    // Signature verification needs the signing form and the signature and identifier as separate arrays. These are
+    // assembled in per-thread scratch arrays, so verifying a view does not allocate.
+    private static final ThreadLocal<Scratch> scratch = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int byteSize;
+    private final byte type;
+    private final int signatureOffset;
+
+    private volatile SignatureState signatureState = SignatureState.Undetermined;
+
+    private TransactionView(ByteBuffer buffer, int start, int byteSize, byte type, int signatureOffset) {
+        this.buffer = buffer;
+        this.start = start;
+        this.byteSize = byteSize;
+        this.type = type;
+        this.signatureOffset = signatureOffset;
+    }
+
+    public static TransactionView fromByteBuffer(ByteBuffer buffer) {
+
+        return fromByteBuffer(buffer, false);
+    }
+
+    public static TransactionView fromByteBuffer(ByteBuffer buffer, boolean balanceListCycleTransaction) {
+
+        // Only the lengths needed to find the end of the transaction are read here. The buffer is not copied, and its
+        // position is advanced past the transaction, as with Transaction.fromByteBuffer(), so consecutive transactions
+        // can be scanned from one buffer. The contents of the buffer must not change while the view is in use.
+        int start = buffer.position();
+        byte type = buffer.get(start + typeOffset);
+
+        TransactionView view = null;
+        if (type == Transaction.typeCoinGeneration) {
+            view = new TransactionView(buffer, start, previousHashHeightOffset, type, -1);
+        } else if (type == Transaction.typeSeed || type == Transaction.typeStandard ||
+                type == Transaction.typeCycle) {
+            int signatureOffset = senderDataOffset + senderDataLength(buffer, start);
+            int byteSize = signatureOffset + FieldByteSize.signature;
+            if (type == Transaction.typeCycle) {
+                int numberOfCycleSignatures = buffer.getInt(start + byteSize);
+                int cycleSignatureSize = balanceListCycleTransaction ?
+                        FieldByteSize.timestamp + FieldByteSize.identifier + FieldByteSize.booleanField +
+                                FieldByteSize.signature :
+                        FieldByteSize.identifier + FieldByteSize.signature;
+
+                // The count is not trusted. The size is computed as a long and checked against the buffer here, so a
+                // negative or very large count cannot produce a size that wraps around or moves the position back.
+                long cycleByteSize = byteSize + FieldByteSize.unnamedInteger +
+                        (long) numberOfCycleSignatures * cycleSignatureSize;
+                if (numberOfCycleSignatures < 0 || cycleByteSize > buffer.limit() - start) {
+                    throw new IndexOutOfBoundsException("cycle transaction with " + numberOfCycleSignatures +
+                            " signatures exceeds buffer");
+                }
+                byteSize = (int) cycleByteSize;
+            }
+            view = new TransactionView(buffer, start, byteSize, type, signatureOffset);
+        } else if (type == Transaction.typeCycleSignature) {
+            view = new TransactionView(buffer, start, cycleSignatureSignatureOffset + FieldByteSize.signature, type,
+                    cycleSignatureSignatureOffset);
+        } else {
+            System.err.println("Unknown type: " + type);
+        }
+
+        if (view != null) {
+            if (start + view.byteSize > buffer.limit()) {
+                throw new IndexOutOfBoundsException("transaction of " + view.byteSize + " bytes exceeds buffer");
+            }
+            buffer.position(start + view.byteSize);
+        }
+
+        return view;
+    }
+
+    private static int senderDataLength(ByteBuffer buffer, int start) {
+
+        // A negative length would place the signature before the sender data, so it is rejected, as it is when the
+        // transaction is read with Transaction.fromByteBuffer().
+        int length = buffer.get(start + senderDataLengthOffset);
+        if (length < 0) {
+            throw new IndexOutOfBoundsException("negative sender data length " + length);
+        }
+
+        return Math.min(length, FieldByteSize.maximumSenderDataLength);
+    }
+
+    private boolean hasSenderFields() {
+        return type == Transaction.typeSeed || type == Transaction.typeStandard || type == Transaction.typeCycle;
+    }
+
+    public int getByteSize() {
+        return byteSize;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return buffer.getLong(start + timestampOffset);
+    }
+
+    public long getAmount() {
+        return type == Transaction.typeCycleSignature ? 0L : buffer.getLong(start + amountOffset);
+    }
+
+    public long getFee() {
+        return type == Transaction.typeCycle || type == Transaction.typeCycleSignature ? 0 :
+                (getAmount() + 399L) / 400L;
+    }
+
+    public long getAmountAfterFee() {
+        return getAmount() - getFee();
+    }
+
+    public byte[] getReceiverIdentifier() {
+        return type == Transaction.typeCycleSignature ? null :
+                copyOf(start + receiverIdentifierOffset, FieldByteSize.identifier);
+    }
+
+    public boolean receiverIdentifierEquals(byte[] identifier) {
+
+        // This compares in place, so a scan for transactions to one receiver does not allocate.
+        boolean equal = type != Transaction.typeCycleSignature && identifier != null &&
+                identifier.length == FieldByteSize.identifier;
+        int offset = start + receiverIdentifierOffset;
+        for (int i = 0; i < FieldByteSize.identifier && equal; i++) {
+            equal = buffer.get(offset + i) == identifier[i];
+        }
+
+        return equal;
+    }
+
+    public long getPreviousHashHeight() {
+        return hasSenderFields() ? buffer.getLong(start + previousHashHeightOffset) : 0L;
+    }
+
+    public byte[] getSenderIdentifier() {
+
+        byte[] identifier = null;
+        if (hasSenderFields()) {
+            identifier = copyOf(start + senderIdentifierOffset, FieldByteSize.identifier);
+        } else if (type == Transaction.typeCycleSignature) {
+            identifier = copyOf(start + cycleSignatureSenderIdentifierOffset, FieldByteSize.identifier);
+        }
+
+        return identifier;
+    }
+
+    public byte[] getSenderData() {
+        return hasSenderFields() ? copyOf(start + senderDataOffset, senderDataLength(buffer, start)) : null;
+    }
+
+    public byte[] getSignature() {
+        return signatureOffset < 0 ? null : copyOf(start + signatureOffset, FieldByteSize.signature);
+    }
+
+    public byte getCycleTransactionVote() {
+        return type == Transaction.typeCycleSignature && buffer.get(start + cycleSignatureVoteOffset) == 1 ?
+                Transaction.voteYes : Transaction.voteNo;
+    }
+
+    public byte[] getCycleTransactionSignature() {
+        return type == Transaction.typeCycleSignature ?
+                copyOf(start + cycleTransactionSignatureOffset, FieldByteSize.signature) : null;
+    }
+
+    public byte[] getTransactionHash() {
+
+        // This is the double-SHA-256 of the serialized bytes of the transaction, as they appear in the buffer. For a
+        // transaction in canonical form, this is the same as Transaction.getTransactionHash().
+        byte[] hash = new byte[FieldByteSize.hash];
+        if (buffer.hasArray()) {
+            HashUtil.doubleSHA256(buffer.array(), buffer.arrayOffset() + start, byteSize, hash, 0);
+        } else {
+            byte[] bytes = copyOf(start, byteSize);
+            HashUtil.doubleSHA256(bytes, 0, bytes.length, hash, 0);
+        }
+
+        return hash;
+    }
+
+    public SignatureState getSignatureState() {
+        return signatureState;
+    }
+
+    public boolean signatureIsValid() {
+
+        // As with Transaction, coin-generation transactions are not signed, and the state is only determined once.
+        if (signatureState == SignatureState.Undetermined) {
+            if (type == Transaction.typeCoinGeneration) {
+                signatureState = SignatureState.Valid;
+            } else {
+                Scratch scratch = TransactionView.scratch.get();
+                int signingByteSize = writeSigningBytes(scratch);
+                copy(start + signatureOffset, scratch.signature, 0, FieldByteSize.signature);
+                signatureState = SignatureUtil.signatureIsValid(scratch.signature, scratch.signingBytes,
+                        scratch.identifier, 0, signingByteSize) ? SignatureState.Valid : SignatureState.Invalid;
+            }
+        }
+
+        return signatureState == SignatureState.Valid;
+    }
+
+    private int writeSigningBytes(Scratch scratch) {
+
+        // This produces the same bytes as Transaction.getBytes(true) for the transaction that Transaction would
+        // decode from the same buffer. The sender identifier is also left in the scratch identifier array.
+        byte[] signingBytes = scratch.signingBytes;
+        int position = 0;
+        signingBytes[position++] = type;
+        copy(start + timestampOffset, signingBytes, position, FieldByteSize.timestamp);
+        position += FieldByteSize.timestamp;
+
+        if (type == Transaction.typeCycleSignature) {
+            copy(start + cycleSignatureSenderIdentifierOffset, scratch.identifier, 0, FieldByteSize.identifier);
+            System.arraycopy(scratch.identifier, 0, signingBytes, position, FieldByteSize.identifier);
+            position += FieldByteSize.identifier;
+            signingBytes[position++] = getCycleTransactionVote();
+            copy(start + cycleTransactionSignatureOffset, signingBytes, position, FieldByteSize.signature);
+            position += FieldByteSize.signature;
+        } else {
+            copy(start + amountOffset, signingBytes, position, FieldByteSize.transactionAmount +
+                    FieldByteSize.identifier);
+            position += FieldByteSize.transactionAmount + FieldByteSize.identifier;
+
+            // The app only supports transactions referenced to the Genesis block, so any other height is signed with
+            // an empty hash, as in Transaction.fromByteBuffer().
+            if (getPreviousHashHeight() == 0L) {
+                System.arraycopy(Transaction.genesisBlockHash, 0, signingBytes, position, FieldByteSize.hash);
+            } else {
+                Arrays.fill(signingBytes, position, position + FieldByteSize.hash, (byte) 0);
+            }
+            position += FieldByteSize.hash;
+
+            copy(start + senderIdentifierOffset, scratch.identifier, 0, FieldByteSize.identifier);
+            System.arraycopy(scratch.identifier, 0, signingBytes, position, FieldByteSize.identifier);
+            position += FieldByteSize.identifier;
+
+            int senderDataLength = senderDataLength(buffer, start);
+            copy(start + senderDataOffset, scratch.senderData, 0, senderDataLength);
+            HashUtil.doubleSHA256(scratch.senderData, 0, senderDataLength, signingBytes, position);
+            position += FieldByteSize.hash;
+        }
+
+        return position;
+    }
+
+    public Transaction toTransaction() {
+
+        return toTransaction(false);
+    }
+
+    public Transaction toTransaction(boolean balanceListCycleTransaction) {
+
+        ByteBuffer source = buffer.duplicate();
+        source.position(start);
+
+        return Transaction.fromByteBuffer(source, 0L, new byte[FieldByteSize.hash], balanceListCycleTransaction);
+    }
+
+    private byte[] copyOf(int offset, int length) {
+
+        byte[] array = new byte[length];
+        copy(offset, array, 0, length);
+
+        return array;
+    }
+
+    private void copy(int offset, byte[] destination, int destinationOffset, int length) {
+
+        // Absolute reads are used so that the position of the buffer, which may be shared, is never changed.
+        if (buffer.hasArray()) {
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + offset, destination, destinationOffset, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                destination[destinationOffset + i] = buffer.get(offset + i);
+            }
+        }
+    }
+
+    private static class Scratch {
+
+        private final byte[] signingBytes = new byte[Math.max(maximumSigningByteSize, cycleSignatureSignatureOffset)];
+        private final byte[] signature = new byte[FieldByteSize.signature];
+        private final byte[] identifier = new byte[FieldByteSize.identifier];
+        private final byte[] senderData = new byte[FieldByteSize.maximumSenderDataLength];
+    }
+}
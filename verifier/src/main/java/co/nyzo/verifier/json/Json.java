@@ -0,0 +1,506 @@
+package co.nyzo.verifier.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Json {
+
+    // Like everything Nyzo, this is class is purpose-built to do the job it is supposed to do, minimally and
+    // efficiently. Parsing is a single pass over the string, so the time to parse is linear in the length of the string
+    // and nesting depth does not increase the call-stack depth. The limit is still kept to bound the memory used for
+    // a response.
+    public static int maximumJsonStringLength = 100000;
+
+    // Values are converted to strings through a per-thread writer and builder. A builder that grows past this capacity
+    // is not kept, so a single large value does not hold memory for the life of the thread.
+    private static final int maximumPooledBuilderCapacity = 65536;
+    private static final ThreadLocal<JsonWriter> pooledWriter = new ThreadLocal<JsonWriter>() {
+        @Override
+        protected JsonWriter initialValue() {
+            return new JsonWriter(new StringBuilder());
+        }
+    };
+
+    // Instances of this class are used to store state for parsing.
+    private final String jsonString;
+    private final int end;
+    private int index;
+    private StringBuilder escapedString;
+
+    private Json(String jsonString, int start, int end) {
+        this.jsonString = jsonString;
+        this.end = end;
+        this.index = start;
+        this.escapedString = null;
+    }
+
+    public static Object parse(String jsonString) {
+
+        // Leading and trailing whitespace is skipped by index, so the string is never trimmed or copied. Values in
+        // objects and arrays are strings, objects, and arrays. Numbers and the literals true, false, and null are
+        // stored as JsonLiteral instances holding their text, as it was written, so that they are not confused with
+        // strings. If the string is not valid JSON, null is returned.
+        Object result = null;
+        if (jsonString != null) {
+            int start = 0;
+            int end = jsonString.length();
+            while (start < end && jsonString.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && jsonString.charAt(end - 1) <= ' ') {
+                end--;
+            }
+
+            if (end > start && end - start <= maximumJsonStringLength) {
+                try {
+                    result = new Json(jsonString, start, end).parseDocument();
+                } catch (Exception ignored) { }
+            }
+        }
+
+        return result;
+    }
+
+    public static String jsonStringForValue(Object value) {
+
+        // The value may be an object, an array, a string, a number, a boolean, or null.
+        JsonWriter writer = pooledWriter.get();
+        StringBuilder builder = (StringBuilder) writer.output;
+        builder.setLength(0);
+        writer.reset();
+
+        String result;
+        try {
+            writer.value(value);
+            writer.flush();
+            result = builder.toString();
+        } catch (IOException e) {
+            // A StringBuilder does not throw, so this is not expected.
+            throw new IllegalStateException(e);
+        } finally {
+            if (builder.capacity() > maximumPooledBuilderCapacity) {
+                pooledWriter.remove();
+            }
+        }
+
+        return result;
+    }
+
+    public static Object parseLazy(String jsonString) {
+
+        // This returns an object or array that keeps offsets into the string rather than values. Each object or array
+        // finds its members the first time it is accessed, and each member is converted only when it is read, so
+        // values that are never read are never copied out of the string. Before returning, only the structure of the
+        // string is checked: brackets must balance and strings must be terminated. Members of an object or array that
+        // are not well-formed are ignored when it is accessed.
+        Object result = null;
+        if (jsonString != null) {
+            int start = skipWhitespace(jsonString, 0, jsonString.length());
+            int end = jsonString.length();
+            while (end > start && jsonString.charAt(end - 1) <= ' ') {
+                end--;
+            }
+
+            JsonSource source = end > start && end - start <= maximumJsonStringLength ?
+                    JsonSource.forRange(jsonString, start, end) : null;
+            if (source != null) {
+                result = valueAt(source, start, end);
+            }
+        }
+
+        return result;
+    }
+
+    static Object valueAt(JsonSource source, int start, int end) {
+
+        // The range is a single value with no surrounding whitespace. Objects and arrays are returned in lazy form.
+        char character = source.string.charAt(start);
+        return character == '{' ? new JsonObject(source, start, end) : character == '[' ?
+                new JsonArray(source, start, end) : scalarAt(source.string, start, end);
+    }
+
+    static Object scalarAt(String source, int start, int end) {
+
+        // The range is a single string or literal with no surrounding whitespace. It is converted by the parser to a
+        // String or a JsonLiteral, and null is returned if it is not valid.
+        Object result = null;
+        try {
+            result = new Json(source, start, end).parseDocument();
+        } catch (Exception ignored) { }
+
+        return result;
+    }
+
+    static String quotedStringAt(String source, int start, int end) {
+
+        // The range is a single quoted string. This returns its value, or null if it is not valid.
+        Object result = scalarAt(source, start, end);
+        return result instanceof String ? (String) result : null;
+    }
+
+    static int skipWhitespace(String source, int index, int end) {
+
+        while (index < end && source.charAt(index) <= ' ') {
+            index++;
+        }
+
+        return index;
+    }
+
+    static int stringEnd(String source, int index, int end) {
+
+        // The index is at the opening quote. This returns the index after the closing quote, or -1 if the string is not
+        // terminated.
+        int result = -1;
+        for (int i = index + 1; i < end && result < 0; i++) {
+            char character = source.charAt(i);
+            if (character == '\\') {
+                i++;
+            } else if (character == '"') {
+                result = i + 1;
+            }
+        }
+
+        return result;
+    }
+
+    static long longValue(String source, int start, int end, long defaultValue) {
+
+        // The number is parsed directly from the source, accepting what Long.parseLong() accepts. A quoted value is
+        // parsed from between the quotes, unless it contains escapes, in which case it is converted to a string first.
+        long result = defaultValue;
+        boolean quoted = isQuoted(source, start, end);
+        if (quoted && containsEscape(source, start, end)) {
+            try {
+                result = Long.parseLong(quotedStringAt(source, start, end));
+            } catch (Exception ignored) { }
+        } else {
+            if (quoted) {
+                start++;
+                end--;
+            }
+
+            boolean negative = false;
+            if (start < end && (source.charAt(start) == '-' || source.charAt(start) == '+')) {
+                negative = source.charAt(start) == '-';
+                start++;
+            }
+
+            // The value is accumulated as a negative number, as the magnitude of Long.MIN_VALUE is one more than that
+            // of Long.MAX_VALUE.
+            long value = 0L;
+            long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+            boolean valid = start < end;
+            for (int i = start; i < end && valid; i++) {
+                int digit = source.charAt(i) - '0';
+                valid = digit >= 0 && digit <= 9 && value >= (limit + digit) / 10;
+                value = value * 10 - digit;
+            }
+
+            if (valid) {
+                result = negative ? value : -value;
+            }
+        }
+
+        return result;
+    }
+
+    static boolean booleanValue(String source, int start, int end, boolean defaultValue) {
+
+        // The words accepted are those accepted by JsonObject.getBoolean(), compared without creating a string.
+        boolean result = defaultValue;
+        boolean quoted = isQuoted(source, start, end);
+        if (quoted && containsEscape(source, start, end)) {
+            String value = quotedStringAt(source, start, end);
+            result = value == null ? defaultValue : JsonObject.booleanForString(value, defaultValue);
+        } else {
+            if (quoted) {
+                start++;
+                end--;
+            }
+
+            if (regionEquals(source, start, end, "true") || regionEquals(source, start, end, "t") ||
+                    regionEquals(source, start, end, "yes") || regionEquals(source, start, end, "y") ||
+                    regionEquals(source, start, end, "1")) {
+                result = true;
+            } else if (regionEquals(source, start, end, "false") || regionEquals(source, start, end, "f") ||
+                    regionEquals(source, start, end, "no") || regionEquals(source, start, end, "n") ||
+                    regionEquals(source, start, end, "0")) {
+                result = false;
+            }
+        }
+
+        return result;
+    }
+
+    static boolean isQuoted(String source, int start, int end) {
+        return end - start >= 2 && source.charAt(start) == '"';
+    }
+
+    static boolean containsEscape(String source, int start, int end) {
+
+        boolean result = false;
+        for (int i = start; i < end && !result; i++) {
+            result = source.charAt(i) == '\\';
+        }
+
+        return result;
+    }
+
+    private static boolean regionEquals(String source, int start, int end, String word) {
+        return end - start == word.length() && source.regionMatches(true, start, word, 0, word.length());
+    }
+
+    private Object parseDocument() {
+
+        // Objects and arrays that are still open are kept on a stack, along with the key, for an object, of the value
+        // being read. Each value is added to the container at the top of the stack when it is complete, and a container
+        // is itself a complete value when it is closed.
+        List<Object> containers = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        Object result = null;
+        boolean complete = false;
+        while (!complete) {
+            Object value = null;
+            char character = peekCharacter();
+            if (character == '{') {
+                index++;
+                JsonObject object = new JsonObject();
+                if (peekCharacter() == '}') {
+                    index++;
+                    value = object;
+                } else {
+                    containers.add(object);
+                    keys.add(readKey());
+                }
+            } else if (character == '[') {
+                index++;
+                JsonArray array = new JsonArray();
+                if (peekCharacter() == ']') {
+                    index++;
+                    value = array;
+                } else {
+                    containers.add(array);
+                    keys.add(null);
+                }
+            } else if (character == '"') {
+                value = readString();
+            } else {
+                value = readLiteral();
+            }
+
+            // Add the value to its container. If the container is closed after the value, the container is added to
+            // its own container, and so on, until a container continues with another value.
+            while (value != null) {
+                int top = containers.size() - 1;
+                if (top < 0) {
+                    result = value;
+                    complete = true;
+                    value = null;
+                } else {
+                    Object container = containers.get(top);
+                    boolean isObject = container instanceof JsonObject;
+                    if (isObject) {
+                        ((JsonObject) container).put(keys.get(top), value);
+                    } else {
+                        ((JsonArray) container).add(value);
+                    }
+
+                    char separator = readCharacter();
+                    if (separator == ',') {
+                        if (isObject) {
+                            keys.set(top, readKey());
+                        }
+                        value = null;
+                    } else if (separator == (isObject ? '}' : ']')) {
+                        containers.remove(top);
+                        keys.remove(top);
+                        value = container;
+                    } else {
+                        throw malformed("expected ',' or the end of the " + (isObject ? "object" : "array"));
+                    }
+                }
+            }
+        }
+
+        skipWhitespace();
+        if (index < end) {
+            throw malformed("unexpected content after the value");
+        }
+
+        return result;
+    }
+
+    private String readKey() {
+
+        if (peekCharacter() != '"') {
+            throw malformed("expected a key");
+        }
+        String key = readString();
+        if (readCharacter() != ':') {
+            throw malformed("expected ':'");
+        }
+
+        return key;
+    }
+
+    private String readString() {
+
+        // The index is at the opening quote. A string without escape sequences is taken directly from the JSON string.
+        // Otherwise, it is assembled in a builder that is reused for all strings in the document.
+        int start = index + 1;
+        int position = start;
+        char character = 0;
+        while (position < end && (character = jsonString.charAt(position)) != '"' && character != '\\') {
+            position++;
+        }
+        if (position >= end) {
+            throw malformed("unterminated string");
+        }
+
+        String result;
+        if (character == '"') {
+            result = jsonString.substring(start, position);
+            index = position + 1;
+        } else {
+            if (escapedString == null) {
+                escapedString = new StringBuilder();
+            }
+            escapedString.setLength(0);
+            escapedString.append(jsonString, start, position);
+            index = position;
+            while ((character = nextStringCharacter()) != '"') {
+                if (character == '\\') {
+                    appendEscapedCharacter();
+                } else {
+                    escapedString.append(character);
+                }
+            }
+            result = escapedString.toString();
+        }
+
+        return result;
+    }
+
+    private char nextStringCharacter() {
+
+        if (index >= end) {
+            throw malformed("unterminated string");
+        }
+
+        return jsonString.charAt(index++);
+    }
+
+    private void appendEscapedCharacter() {
+
+        char character = nextStringCharacter();
+        switch (character) {
+            case '"':
+            case '\\':
+            case '/':
+                escapedString.append(character);
+                break;
+            case 'b':
+                escapedString.append('\b');
+                break;
+            case 'f':
+                escapedString.append('\f');
+                break;
+            case 'n':
+                escapedString.append('\n');
+                break;
+            case 'r':
+                escapedString.append('\r');
+                break;
+            case 't':
+                escapedString.append('\t');
+                break;
+            case 'u':
+                int codeUnit = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextStringCharacter(), 16);
+                    if (digit < 0) {
+                        throw malformed("invalid unicode escape");
+                    }
+                    codeUnit = (codeUnit << 4) | digit;
+                }
+                escapedString.append((char) codeUnit);
+                break;
+            default:
+                throw malformed("invalid escape sequence");
+        }
+    }
+
+    private JsonLiteral readLiteral() {
+
+        // Numbers and the literals true, false, and null end at the next separator or whitespace.
+        int start = index;
+        char character;
+        while (index < end && (character = jsonString.charAt(index)) > ' ' && character != ',' && character != '}' &&
+                character != ']' && character != ':' && character != '"') {
+            index++;
+        }
+        if (index == start) {
+            throw malformed("expected a value");
+        }
+
+        return new JsonLiteral(jsonString.substring(start, index));
+    }
+
+    private char peekCharacter() {
+
+        skipWhitespace();
+        if (index >= end) {
+            throw malformed("unexpected end of string");
+        }
+
+        return jsonString.charAt(index);
+    }
+
+    private char readCharacter() {
+
+        char character = peekCharacter();
+        index++;
+
+        return character;
+    }
+
+    private void skipWhitespace() {
+        while (index < end && jsonString.charAt(index) <= ' ') {
+            index++;
+        }
+    }
+
+    private IllegalArgumentException malformed(String message) {
+        return new IllegalArgumentException(message + " at index " + index);
+    }
+
+    public static Object traverse(Object json, Object... keys) {
+        // This is a convenience method to quickly dig into a nested JSON structure.
+        Object current = json;
+        boolean valid = true;
+        for (Object key : keys) {
+            if (key instanceof String && current instanceof JsonObject) {
+                current = ((JsonObject) current).get((String) key);
+            } else if (key instanceof Integer && current instanceof JsonArray) {
+                current = ((JsonArray) current).get((Integer) key);
+            } else {
+                valid = false;
+            }
+        }
+
+        return valid ? current : null;
+    }
+
+    public static JsonArray traverseGetArray(Object json, Object... keys) {
+        Object result = traverse(json, keys);
+        return result instanceof JsonArray ? (JsonArray) result : null;
+    }
+
+    public static JsonObject traverseGetObject(Object json, Object... keys) {
+        Object result = traverse(json, keys);
+        return result instanceof JsonObject ? (JsonObject) result : null;
+    }
+}
+
@@ -0,0 +1,148 @@
+package co.nyzo.verifier.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class JsonArray {
+
+    private List<Object> objects;
+
+    // These are only used for an array from Json.parseLazy(). As with JsonObject, the array holds the range of the
+    // source that it was parsed from, stores the range of each element the first time it is accessed, and converts
+    // each element when it is read.
+    private final JsonSource source;
+    private final int sourceStart;
+    private final int sourceEnd;
+    private int elementCount;
+    private int[] elementOffsets;
+    private Object[] elements;
+
+    JsonArray() {
+        this(null, 0, 0);
+    }
+
+    public JsonArray(List<Object> objects) {
+        this();
+        this.objects.addAll(objects);
+    }
+
+    JsonArray(JsonSource source, int sourceStart, int sourceEnd) {
+        this.objects = source == null ? new ArrayList<>() : null;
+        this.source = source;
+        this.sourceStart = sourceStart;
+        this.sourceEnd = sourceEnd;
+        this.elementCount = -1;
+    }
+
+    void add(Object value) {
+        objects.add(value);
+    }
+
+    public int length() {
+        return source == null ? objects.size() : indexElements();
+    }
+
+    public Object get(int index) {
+
+        Object value;
+        if (source == null) {
+            value = objects.get(index);
+        } else {
+            synchronized (this) {
+                if (index < 0 || index >= indexElements()) {
+                    throw new IndexOutOfBoundsException("index " + index + ", length " + elementCount);
+                }
+                value = elements[index];
+                if (value == null) {
+                    value = Json.valueAt(source, elementOffsets[index * 2], elementOffsets[index * 2 + 1]);
+                    elements[index] = value;
+                }
+            }
+        }
+
+        return value;
+    }
+
+    public String getString(int index, String defaultValue) {
+        Object object = index >= 0 && index < length() ? get(index) : null;
+        return object == null ? defaultValue : JsonObject.stringForValue(object);
+    }
+
+    public double getDouble(int index, double defaultValue) {
+        double result = defaultValue;
+        try {
+            result = Double.parseDouble(getString(index, ""));
+        } catch(Exception ignored){ }
+
+        return result;
+    }
+
+    public long getLong(int index, long defaultValue) {
+        long result = defaultValue;
+        if (source != null) {
+            if (index >= 0 && index < length()) {
+                result = Json.longValue(source.string, elementOffsets[index * 2], elementOffsets[index * 2 + 1],
+                        defaultValue);
+            }
+        } else {
+            try {
+                result = Long.parseLong(getString(index, ""));
+            } catch (Exception ignored) { }
+        }
+
+        return result;
+    }
+
+    public boolean getBoolean(int index, boolean defaultValue) {
+        boolean result = defaultValue;
+        if (source != null) {
+            if (index >= 0 && index < length()) {
+                result = Json.booleanValue(source.string, elementOffsets[index * 2], elementOffsets[index * 2 + 1],
+                        defaultValue);
+            }
+        } else {
+            result = JsonObject.booleanForString(getString(index, ""), defaultValue);
+        }
+
+        return result;
+    }
+
+    private synchronized int indexElements() {
+
+        // The range ends with the closing bracket. Elements are read until the closing bracket or the first element
+        // that is not well-formed. The number of elements is returned.
+        if (elementCount < 0) {
+            int[] offsets = new int[32];
+            int count = 0;
+
+            int end = sourceEnd - 1;
+            int index = Json.skipWhitespace(source.string, sourceStart + 1, end);
+            boolean wellFormed = true;
+            while (index < end && wellFormed) {
+                int valueEnd = source.valueEnd(index, end);
+                wellFormed = valueEnd > 0;
+                if (wellFormed) {
+                    if ((count + 1) * 2 > offsets.length) {
+                        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    }
+                    offsets[count * 2] = index;
+                    offsets[count * 2 + 1] = valueEnd;
+                    count++;
+
+                    index = Json.skipWhitespace(source.string, valueEnd, end);
+                    if (index < end) {
+                        wellFormed = source.string.charAt(index) == ',';
+                        index = Json.skipWhitespace(source.string, index + 1, end);
+                    }
+                }
+            }
+
+            elementOffsets = offsets;
+            elements = new Object[count];
+            elementCount = count;
+        }
+
+        return elementCount;
+    }
+}
@@ -0,0 +1,82 @@
+package co.nyzo.verifier.json;
+
+public final class JsonLiteral {
+
+    // This holds a number or one of the literals true, false, and null, as it was written in a parsed document. Keeping
+    // these distinct from strings allows them to be written back unquoted. The text is returned by toString(), so the
+    // string accessors of JsonObject and JsonArray return the same text for a literal as for a quoted value.
+    private final String text;
+
+    JsonLiteral(String text) {
+        this.text = text;
+    }
+
+    boolean isValidToken() {
+
+        // The parser accepts any unquoted token, so the text is only written unquoted if it is a JSON number or a
+        // literal.
+        return text.equals("true") || text.equals("false") || text.equals("null") || isNumber(text);
+    }
+
+    private static boolean isNumber(String text) {
+
+        // This follows the JSON number grammar: an optional minus sign, an integer part without leading zeros, an
+        // optional fraction, and an optional exponent.
+        int length = text.length();
+        int index = 0;
+        if (index < length && text.charAt(index) == '-') {
+            index++;
+        }
+
+        boolean valid = index < length;
+        if (valid && text.charAt(index) == '0') {
+            index++;
+        } else {
+            int digitsStart = index;
+            index = skipDigits(text, index);
+            valid = index > digitsStart;
+        }
+
+        if (valid && index < length && text.charAt(index) == '.') {
+            int digitsStart = ++index;
+            index = skipDigits(text, index);
+            valid = index > digitsStart;
+        }
+
+        if (valid && index < length && (text.charAt(index) == 'e' || text.charAt(index) == 'E')) {
+            index++;
+            if (index < length && (text.charAt(index) == '+' || text.charAt(index) == '-')) {
+                index++;
+            }
+            int digitsStart = index;
+            index = skipDigits(text, index);
+            valid = index > digitsStart;
+        }
+
+        return valid && index == length;
+    }
+
+    private static int skipDigits(String text, int index) {
+
+        while (index < text.length() && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+            index++;
+        }
+
+        return index;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof JsonLiteral && ((JsonLiteral) object).text.equals(text);
+    }
+
+    @Override
+    public int hashCode() {
+        return text.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
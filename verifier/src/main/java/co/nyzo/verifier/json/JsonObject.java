@@ -0,0 +1,293 @@
+package co.nyzo.verifier.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class JsonObject {
+
+    // Objects with more members than this are looked up through a map when lazy. Smaller objects are searched directly
+    // in the source, which does not require a string for each key.
+    private static final int maximumLinearSearchMembers = 16;
+
+    private Map<String, Object> objects;
+
+    // These are only used for an object from Json.parseLazy(). The object holds the range of the source that it was
+    // parsed from. The first time a member is accessed, the key and value ranges of all members are stored as four
+    // offsets per member. Values are converted when they are read and then stored in the map above, and the typed
+    // accessors read primitive values directly from the source.
+    private final JsonSource source;
+    private final int sourceStart;
+    private final int sourceEnd;
+    private int memberCount;
+    private int[] memberOffsets;
+    private String[] escapedKeys;
+    private Map<String, Integer> memberIndices;
+
+    JsonObject() {
+        this(null, 0, 0);
+    }
+
+    public JsonObject(Map<String, Object> objects) {
+        this();
+        this.objects.putAll(objects);
+    }
+
+    JsonObject(JsonSource source, int sourceStart, int sourceEnd) {
+        this.objects = new ConcurrentHashMap<>();
+        this.source = source;
+        this.sourceStart = sourceStart;
+        this.sourceEnd = sourceEnd;
+        this.memberCount = source == null ? 0 : -1;
+    }
+
+    void put(String key, Object value) {
+        objects.put(key, value);
+    }
+
+    public Set<String> getKeys() {
+
+        Set<String> keys;
+        if (source == null) {
+            keys = objects.keySet();
+        } else {
+            synchronized (this) {
+                indexMembers();
+                keys = new LinkedHashSet<>();
+                for (int i = 0; i < memberCount; i++) {
+                    keys.add(keyAt(i));
+                }
+            }
+            keys = Collections.unmodifiableSet(keys);
+        }
+
+        return keys;
+    }
+
+    public Object get(String key) {
+
+        Object value = objects.get(key);
+        if (value == null && source != null) {
+            int member = memberIndex(key);
+            if (member >= 0) {
+                value = Json.valueAt(source, memberOffsets[member * 4 + 2], memberOffsets[member * 4 + 3]);
+                if (value != null) {
+                    objects.put(key, value);
+                }
+            }
+        }
+
+        return value;
+    }
+
+    public String getString(String key, String defaultValue) {
+        Object object = get(key);
+        return object == null ? defaultValue : stringForValue(object);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        boolean result;
+        int member = memberIndex(key);
+        if (member >= 0) {
+            result = Json.booleanValue(source.string, memberOffsets[member * 4 + 2], memberOffsets[member * 4 + 3],
+                    defaultValue);
+        } else {
+            result = booleanForString(getString(key, ""), defaultValue);
+        }
+
+        return result;
+    }
+
+    static boolean booleanForString(String value, boolean defaultValue) {
+        boolean result = defaultValue;
+        value = value.toLowerCase();
+        if (value.equals("true") || value.equals("t") || value.equals("yes") || value.equals("y") ||
+                value.equals("1")) {
+            result = true;
+        } else if (value.equals("false") || value.equals("f") || value.equals("no") || value.equals("n") ||
+                value.equals("0")) {
+            result = false;
+        }
+
+        return result;
+    }
+
+    static String stringForValue(Object value) {
+        return value instanceof String ? (String) value : value + "";
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        double result = defaultValue;
+        if (containsKey(key)) {
+            try {
+                result = Double.parseDouble(getString(key, "").replace("∩", ""));
+            } catch (Exception ignored) { }
+        }
+
+        return result;
+    }
+
+    public int getInteger(String key, int defaultValue) {
+        int result = defaultValue;
+        int member = memberIndex(key);
+        if (member >= 0) {
+            long value = Json.longValue(source.string, memberOffsets[member * 4 + 2], memberOffsets[member * 4 + 3],
+                    Long.MIN_VALUE);
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                result = (int) value;
+            }
+        } else if (objects.containsKey(key)) {
+            try {
+                result = Integer.parseInt(getString(key, ""));
+            } catch (Exception ignored) { }
+        }
+
+        return result;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        long result = defaultValue;
+        int member = memberIndex(key);
+        if (member >= 0) {
+            result = Json.longValue(source.string, memberOffsets[member * 4 + 2], memberOffsets[member * 4 + 3],
+                    defaultValue);
+        } else if (objects.containsKey(key)) {
+            try {
+                result = Long.parseLong(getString(key, ""));
+            } catch (Exception ignored) { }
+        }
+
+        return result;
+    }
+
+    public List<String> getStringList(String key) {
+        List<String> stringList = new ArrayList<>();
+        Object arrayObject = get(key);
+        if (arrayObject instanceof JsonArray) {
+            JsonArray array = (JsonArray) arrayObject;
+            for (int i = 0; i < array.length(); i++) {
+                stringList.add(stringForValue(array.get(i)));
+            }
+        }
+
+        return stringList;
+    }
+
+    private boolean containsKey(String key) {
+        return objects.containsKey(key) || memberIndex(key) >= 0;
+    }
+
+    private int memberIndex(String key) {
+
+        // This returns the index of the last member with the key, as a later value replaces an earlier one in a map,
+        // or -1 if the object is not lazy or the key is not present.
+        return source == null ? -1 : lazyMemberIndex(key);
+    }
+
+    private synchronized int lazyMemberIndex(String key) {
+
+        indexMembers();
+        int result = -1;
+        if (memberIndices != null) {
+            Integer index = memberIndices.get(key);
+            result = index == null ? -1 : index;
+        } else {
+            for (int i = memberCount - 1; i >= 0 && result < 0; i--) {
+                if (keyEquals(i, key)) {
+                    result = i;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private void indexMembers() {
+
+        if (memberCount < 0) {
+            int[] offsets = new int[32];
+            String[] keys = null;
+            int count = 0;
+
+            // The range ends with the closing brace. Members are read until the closing brace or the first member that
+            // is not well-formed.
+            int end = sourceEnd - 1;
+            int index = Json.skipWhitespace(source.string, sourceStart + 1, end);
+            boolean wellFormed = true;
+            while (index < end && wellFormed) {
+                int keyEnd = source.string.charAt(index) == '"' ? Json.stringEnd(source.string, index, end) : -1;
+                int colon = keyEnd < 0 ? end : Json.skipWhitespace(source.string, keyEnd, end);
+                int valueStart = colon < end && source.string.charAt(colon) == ':' ?
+                        Json.skipWhitespace(source.string, colon + 1, end) : end;
+                int valueEnd = source.valueEnd(valueStart, end);
+                wellFormed = valueEnd > 0;
+                if (wellFormed) {
+                    if ((count + 1) * 4 > offsets.length) {
+                        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                        if (keys != null) {
+                            keys = Arrays.copyOf(keys, offsets.length / 4);
+                        }
+                    }
+                    offsets[count * 4] = index + 1;
+                    offsets[count * 4 + 1] = keyEnd - 1;
+                    offsets[count * 4 + 2] = valueStart;
+                    offsets[count * 4 + 3] = valueEnd;
+
+                    // Keys with escapes cannot be compared directly with the source, so they are converted here.
+                    if (Json.containsEscape(source.string, index + 1, keyEnd - 1)) {
+                        if (keys == null) {
+                            keys = new String[offsets.length / 4];
+                        }
+                        String key = Json.quotedStringAt(source.string, index, keyEnd);
+                        keys[count] = key != null ? key : source.string.substring(index + 1, keyEnd - 1);
+                    }
+                    count++;
+
+                    index = Json.skipWhitespace(source.string, valueEnd, end);
+                    if (index < end) {
+                        wellFormed = source.string.charAt(index) == ',';
+                        index = Json.skipWhitespace(source.string, index + 1, end);
+                    }
+                }
+            }
+
+            memberOffsets = offsets;
+            escapedKeys = keys;
+            memberCount = count;
+
+            if (count > maximumLinearSearchMembers) {
+                memberIndices = new HashMap<>();
+                for (int i = 0; i < count; i++) {
+                    memberIndices.put(keyAt(i), i);
+                }
+            }
+        }
+    }
+
+    private String keyAt(int member) {
+
+        String key = escapedKeys == null ? null : escapedKeys[member];
+        return key != null ? key : source.string.substring(memberOffsets[member * 4], memberOffsets[member * 4 + 1]);
+    }
+
+    private boolean keyEquals(int member, String key) {
+
+        boolean result;
+        String escapedKey = escapedKeys == null ? null : escapedKeys[member];
+        if (escapedKey != null) {
+            result = escapedKey.equals(key);
+        } else {
+            int keyStart = memberOffsets[member * 4];
+            int keyLength = memberOffsets[member * 4 + 1] - keyStart;
+            result = keyLength == key.length() && source.string.regionMatches(keyStart, key, 0, keyLength);
+        }
+
+        return result;
+    }
+}
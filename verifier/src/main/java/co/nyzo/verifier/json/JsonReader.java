@@ -0,0 +1,396 @@
+package co.nyzo.verifier.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class JsonReader implements Closeable {
+
+    // This reads JSON from a stream one token at a time through a small fixed buffer, so a caller can pick the values
+    // it needs from a document of any length without holding the document or building a tree. As with Json.parse(),
+    // numbers and the literals true, false, and null are read as their text.
+    public enum Token {
+        BeginObject,
+        EndObject,
+        BeginArray,
+        EndArray,
+        Name,
+        Value,
+        EndDocument
+    }
+
+    private static final int bufferSize = 1024;
+
+    // These are the states of each open container and of the document itself. The state of the innermost container is
+    // at the top of the stack.
+    private static final int emptyDocument = 0;
+    private static final int nonEmptyDocument = 1;
+    private static final int emptyObject = 2;
+    private static final int nonEmptyObject = 3;
+    private static final int danglingName = 4;
+    private static final int emptyArray = 5;
+    private static final int nonEmptyArray = 6;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+
+    private int[] stack;
+    private int stackSize;
+
+    private Token peeked;
+    private boolean peekedQuoted;
+    private final StringBuilder value;
+
+    public JsonReader(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+        this.position = 0;
+        this.limit = 0;
+        this.stack = new int[16];
+        this.stack[0] = emptyDocument;
+        this.stackSize = 1;
+        this.peeked = null;
+        this.peekedQuoted = false;
+        this.value = new StringBuilder();
+    }
+
+    public JsonReader(InputStream inputStream) {
+        this(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    public Token peek() throws IOException {
+
+        if (peeked == null) {
+            int top = stackSize - 1;
+            int scope = stack[top];
+            int character;
+            if (scope == emptyArray || scope == nonEmptyArray) {
+                stack[top] = nonEmptyArray;
+                character = nextNonWhitespace();
+                if (character == ']') {
+                    peeked = Token.EndArray;
+                } else if (character == -1) {
+                    throw malformed("unexpected end of document");
+                } else if (scope == emptyArray) {
+                    position--;
+                    peekValue();
+                } else if (character == ',') {
+                    peekValue();
+                } else {
+                    throw malformed("expected ',' or ']'");
+                }
+            } else if (scope == emptyObject || scope == nonEmptyObject) {
+                character = nextNonWhitespace();
+                if (character == '}') {
+                    peeked = Token.EndObject;
+                } else {
+                    if (scope == nonEmptyObject) {
+                        if (character != ',') {
+                            throw malformed("expected ',' or '}'");
+                        }
+                        character = nextNonWhitespace();
+                    }
+                    if (character != '"') {
+                        throw malformed("expected a name");
+                    }
+                    stack[top] = danglingName;
+                    peeked = Token.Name;
+                }
+            } else if (scope == danglingName) {
+                if (nextNonWhitespace() != ':') {
+                    throw malformed("expected ':'");
+                }
+                stack[top] = nonEmptyObject;
+                peekValue();
+            } else if (scope == emptyDocument) {
+                stack[top] = nonEmptyDocument;
+                peekValue();
+            } else {
+                if (nextNonWhitespace() != -1) {
+                    throw malformed("unexpected content after the value");
+                }
+                peeked = Token.EndDocument;
+            }
+        }
+
+        return peeked;
+    }
+
+    private void peekValue() throws IOException {
+
+        // The opening quote of a string is consumed here. The first character of a literal is left in the buffer.
+        int character = nextNonWhitespace();
+        peekedQuoted = false;
+        if (character == '{') {
+            peeked = Token.BeginObject;
+        } else if (character == '[') {
+            peeked = Token.BeginArray;
+        } else if (character == '"') {
+            peeked = Token.Value;
+            peekedQuoted = true;
+        } else if (character == -1 || character == '}' || character == ']' || character == ',' || character == ':') {
+            throw malformed("expected a value");
+        } else {
+            position--;
+            peeked = Token.Value;
+        }
+    }
+
+    public boolean hasNext() throws IOException {
+
+        Token token = peek();
+        return token != Token.EndObject && token != Token.EndArray && token != Token.EndDocument;
+    }
+
+    public void beginObject() throws IOException {
+
+        consume(Token.BeginObject);
+        push(emptyObject);
+    }
+
+    public void endObject() throws IOException {
+
+        consume(Token.EndObject);
+        stackSize--;
+    }
+
+    public void beginArray() throws IOException {
+
+        consume(Token.BeginArray);
+        push(emptyArray);
+    }
+
+    public void endArray() throws IOException {
+
+        consume(Token.EndArray);
+        stackSize--;
+    }
+
+    public String nextName() throws IOException {
+
+        consume(Token.Name);
+        readString(true);
+
+        return value.toString();
+    }
+
+    public String nextString() throws IOException {
+
+        boolean quoted = peekedQuoted;
+        consume(Token.Value);
+        if (quoted) {
+            readString(true);
+        } else {
+            readLiteral();
+        }
+
+        return value.toString();
+    }
+
+    public boolean nextBoolean(boolean defaultValue) throws IOException {
+        return JsonObject.booleanForString(nextString(), defaultValue);
+    }
+
+    public long nextLong(long defaultValue) throws IOException {
+
+        long result = defaultValue;
+        try {
+            result = Long.parseLong(nextString());
+        } catch (NumberFormatException ignored) { }
+
+        return result;
+    }
+
+    public void skipValue() throws IOException {
+
+        // Nested values are skipped with a depth count, so nesting does not increase the call-stack depth. Strings are
+        // scanned without being stored.
+        int depth = 0;
+        do {
+            Token token = peek();
+            if (token == Token.BeginObject) {
+                beginObject();
+                depth++;
+            } else if (token == Token.BeginArray) {
+                beginArray();
+                depth++;
+            } else if (token == Token.EndObject) {
+                endObject();
+                depth--;
+            } else if (token == Token.EndArray) {
+                endArray();
+                depth--;
+            } else if (token == Token.Name) {
+                consume(Token.Name);
+                readString(false);
+            } else if (token == Token.Value) {
+                boolean quoted = peekedQuoted;
+                consume(Token.Value);
+                if (quoted) {
+                    readString(false);
+                } else {
+                    readLiteral();
+                }
+            } else {
+                throw malformed("no value to skip");
+            }
+        } while (depth > 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        peeked = Token.EndDocument;
+        stackSize = 1;
+        stack[0] = nonEmptyDocument;
+        reader.close();
+    }
+
+    private void consume(Token expected) throws IOException {
+
+        Token token = peek();
+        if (token != expected) {
+            throw malformed("expected " + expected + " but was " + token);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = scope;
+    }
+
+    private void readString(boolean store) throws IOException {
+
+        // The opening quote has already been consumed. Runs of characters without quotes or escapes are appended to the
+        // value directly from the buffer.
+        value.setLength(0);
+        boolean complete = false;
+        while (!complete) {
+            if (position == limit && !fill()) {
+                throw malformed("unterminated string");
+            }
+
+            int start = position;
+            char character = 0;
+            while (position < limit && (character = buffer[position]) != '"' && character != '\\') {
+                position++;
+            }
+            if (store) {
+                value.append(buffer, start, position - start);
+            }
+
+            if (position < limit) {
+                position++;
+                if (character == '"') {
+                    complete = true;
+                } else {
+                    char escaped = readEscapedCharacter();
+                    if (store) {
+                        value.append(escaped);
+                    }
+                }
+            }
+        }
+    }
+
+    private char readEscapedCharacter() throws IOException {
+
+        char result;
+        int character = nextCharacter();
+        switch (character) {
+            case '"':
+            case '\\':
+            case '/':
+                result = (char) character;
+                break;
+            case 'b':
+                result = '\b';
+                break;
+            case 'f':
+                result = '\f';
+                break;
+            case 'n':
+                result = '\n';
+                break;
+            case 'r':
+                result = '\r';
+                break;
+            case 't':
+                result = '\t';
+                break;
+            case 'u':
+                int codeUnit = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextCharacter(), 16);
+                    if (digit < 0) {
+                        throw malformed("invalid unicode escape");
+                    }
+                    codeUnit = (codeUnit << 4) | digit;
+                }
+                result = (char) codeUnit;
+                break;
+            default:
+                throw malformed("invalid escape sequence");
+        }
+
+        return result;
+    }
+
+    private void readLiteral() throws IOException {
+
+        // A literal ends at the next separator or whitespace, which is left in the buffer.
+        value.setLength(0);
+        boolean complete = false;
+        while (!complete && (position < limit || fill())) {
+            char character = buffer[position];
+            if (character > ' ' && character != ',' && character != '}' && character != ']' && character != ':' &&
+                    character != '"') {
+                value.append(character);
+                position++;
+            } else {
+                complete = true;
+            }
+        }
+    }
+
+    private int nextCharacter() throws IOException {
+        return position < limit || fill() ? buffer[position++] : -1;
+    }
+
+    private int nextNonWhitespace() throws IOException {
+
+        int character;
+        do {
+            character = nextCharacter();
+        } while (character >= 0 && character <= ' ');
+
+        return character;
+    }
+
+    private boolean fill() throws IOException {
+
+        // The buffer is only refilled when it has been fully consumed, so the character before the position is always
+        // still in the buffer and can be pushed back by decrementing the position.
+        int count = reader.read(buffer, 0, buffer.length);
+        if (count > 0) {
+            position = 0;
+            limit = count;
+        }
+
+        return count > 0;
+    }
+
+    private IOException malformed(String message) {
+        return new IOException("malformed JSON: " + message);
+    }
+}
@@ -0,0 +1,105 @@
+package co.nyzo.verifier.json;
+
+import java.util.Arrays;
+
+class JsonSource {
+
+    // This is the source of the lazy objects and arrays from Json.parseLazy(). It is built with a single pass over the
+    // string that checks that brackets balance and strings are terminated, and it stores the start and end of every
+    // object and array, in order of start. Finding the end of a nested object or array is then a binary search, so the
+    // lazy objects and arrays never scan the characters of values that are not read.
+    final String string;
+    private final int[] containerOffsets;
+    private final int containerCount;
+
+    private JsonSource(String string, int[] containerOffsets, int containerCount) {
+        this.string = string;
+        this.containerOffsets = containerOffsets;
+        this.containerCount = containerCount;
+    }
+
+    static JsonSource forRange(String string, int start, int end) {
+
+        // The range must be a single value with no surrounding whitespace. If it is not structurally valid, null is
+        // returned.
+        int[] offsets = new int[32];
+        int count = 0;
+        int[] openContainers = new int[16];
+        int depth = 0;
+        boolean valid = true;
+        int index = start;
+        while (index < end && valid) {
+            char character = string.charAt(index);
+            if (character == '"') {
+                index = Json.stringEnd(string, index, end);
+                valid = index > 0;
+            } else {
+                if (character == '{' || character == '[') {
+                    if ((count + 1) * 2 > offsets.length) {
+                        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    }
+                    if (depth == openContainers.length) {
+                        openContainers = Arrays.copyOf(openContainers, depth * 2);
+                    }
+                    offsets[count * 2] = index;
+                    openContainers[depth++] = count++;
+                } else if (character == '}' || character == ']') {
+                    int container = depth > 0 ? openContainers[--depth] : -1;
+                    valid = container >= 0 && string.charAt(offsets[container * 2]) == (character == '}' ? '{' : '[');
+                    if (valid) {
+                        offsets[container * 2 + 1] = index + 1;
+                    }
+                }
+                index++;
+            }
+        }
+
+        JsonSource source = null;
+        if (valid && depth == 0) {
+            source = new JsonSource(string, offsets, count);
+            if (source.valueEnd(start, end) != end) {
+                source = null;
+            }
+        }
+
+        return source;
+    }
+
+    int valueEnd(int index, int end) {
+
+        // This returns the index after the value that starts at the specified index, or -1 if there is no value at the
+        // index.
+        int result = -1;
+        char character = index < end ? string.charAt(index) : 0;
+        if (character == '"') {
+            result = Json.stringEnd(string, index, end);
+        } else if (character == '{' || character == '[') {
+            int low = 0;
+            int high = containerCount - 1;
+            while (low <= high && result < 0) {
+                int middle = (low + high) >>> 1;
+                int containerStart = containerOffsets[middle * 2];
+                if (containerStart < index) {
+                    low = middle + 1;
+                } else if (containerStart > index) {
+                    high = middle - 1;
+                } else {
+                    result = containerOffsets[middle * 2 + 1];
+                }
+            }
+            if (result > end) {
+                result = -1;
+            }
+        } else {
+            int start = index;
+            while (index < end && (character = string.charAt(index)) > ' ' && character != ',' && character != '}' &&
+                    character != ']' && character != ':' && character != '"' && character != '{' &&
+                    character != '[') {
+                index++;
+            }
+            result = index > start ? index : -1;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,418 @@
+package co.nyzo.verifier.json;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+public class JsonWriter implements Closeable, Flushable {
+
+    // This writes JSON one token at a time. Characters are collected in a fixed buffer and passed to the output in
+    // blocks, and numbers are written digit by digit into that buffer, so writing does not create intermediate strings.
+    // Numbers and literals from parsed documents are written unquoted, as they were read.
+    private static final int bufferSize = 1024;
+
+    // These are the same states as in JsonReader.
+    private static final int emptyDocument = 0;
+    private static final int nonEmptyDocument = 1;
+    private static final int emptyObject = 2;
+    private static final int nonEmptyObject = 3;
+    private static final int danglingName = 4;
+    private static final int emptyArray = 5;
+    private static final int nonEmptyArray = 6;
+
+    private static final char[] hexadecimalCharacters = "0123456789abcdef".toCharArray();
+    private static final double maximumExactDouble = 9007199254740992.0;  // 2^53
+    private static final char[] minimumLongCharacters = String.valueOf(Long.MIN_VALUE).toCharArray();
+
+    final Appendable output;
+    private final char[] buffer;
+    private int position;
+
+    private int[] stack;
+    private int stackSize;
+
+    public JsonWriter(Appendable output) {
+        this.output = output;
+        this.buffer = new char[bufferSize];
+        this.stack = new int[16];
+        reset();
+    }
+
+    public JsonWriter(OutputStream outputStream) {
+        this(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    void reset() {
+        position = 0;
+        stack[0] = emptyDocument;
+        stackSize = 1;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+
+        beforeValue();
+        push(emptyObject);
+        write('{');
+
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+
+        int scope = stack[stackSize - 1];
+        if (scope != emptyObject && scope != nonEmptyObject) {
+            throw new IllegalStateException("not in an object");
+        }
+        stackSize--;
+        write('}');
+
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+
+        beforeValue();
+        push(emptyArray);
+        write('[');
+
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+
+        int scope = stack[stackSize - 1];
+        if (scope != emptyArray && scope != nonEmptyArray) {
+            throw new IllegalStateException("not in an array");
+        }
+        stackSize--;
+        write(']');
+
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+
+        int scope = stack[stackSize - 1];
+        if (scope == nonEmptyObject) {
+            write(',');
+        } else if (scope != emptyObject) {
+            throw new IllegalStateException("a name is only allowed in an object");
+        }
+        stack[stackSize - 1] = danglingName;
+        writeString(name);
+        write(':');
+
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+
+        if (value == null) {
+            nullValue();
+        } else {
+            beforeValue();
+            writeString(value);
+        }
+
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+
+        beforeValue();
+        writeLong(value);
+
+        return this;
+    }
+
+    public JsonWriter value(double value) throws IOException {
+
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("JSON numbers must be finite");
+        }
+
+        // Whole numbers that a double represents exactly are written as integers. Other values use the shortest
+        // representation that identifies the double, as with Double.toString().
+        beforeValue();
+        if (value == (long) value && Math.abs(value) < maximumExactDouble && (value != 0.0 || 1.0 / value > 0.0)) {
+            writeLong((long) value);
+        } else {
+            writeRaw(Double.toString(value));
+        }
+
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+
+        beforeValue();
+        writeRaw(value ? "true" : "false");
+
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+
+        beforeValue();
+        writeRaw("null");
+
+        return this;
+    }
+
+    public JsonWriter value(Object value) throws IOException {
+
+        // Objects and arrays are written with an explicit stack of iterators, so deeply nested values do not increase
+        // the call-stack depth.
+        if (value instanceof JsonObject || value instanceof JsonArray) {
+            Object[] containers = new Object[8];
+            Object[] iterators = new Object[8];
+            int depth = 0;
+            Object next = value;
+            do {
+                if (next instanceof JsonObject || next instanceof JsonArray) {
+                    if (depth == containers.length) {
+                        containers = Arrays.copyOf(containers, depth * 2);
+                        iterators = Arrays.copyOf(iterators, depth * 2);
+                    }
+                    containers[depth] = next;
+                    if (next instanceof JsonObject) {
+                        beginObject();
+                        iterators[depth] = ((JsonObject) next).getKeys().iterator();
+                    } else {
+                        beginArray();
+                        iterators[depth] = new int[1];
+                    }
+                    depth++;
+                } else {
+                    writeLeaf(next);
+                }
+
+                // Find the next value, closing each container that has no more values.
+                next = null;
+                while (next == null && depth > 0) {
+                    Object container = containers[depth - 1];
+                    if (container instanceof JsonObject) {
+                        @SuppressWarnings("unchecked")
+                        Iterator<String> keys = (Iterator<String>) iterators[depth - 1];
+                        if (keys.hasNext()) {
+                            String key = keys.next();
+                            next = ((JsonObject) container).get(key);
+                            if (next != null) {
+                                name(key);
+                            }
+                        } else {
+                            endObject();
+                            depth--;
+                        }
+                    } else {
+                        int[] index = (int[]) iterators[depth - 1];
+                        JsonArray array = (JsonArray) container;
+                        if (index[0] < array.length()) {
+                            next = array.get(index[0]++);
+                            if (next == null) {
+                                nullValue();
+                            }
+                        } else {
+                            endArray();
+                            depth--;
+                        }
+                    }
+                }
+            } while (next != null);
+        } else {
+            writeLeaf(value);
+        }
+
+        return this;
+    }
+
+    private void writeLeaf(Object value) throws IOException {
+
+        if (value == null) {
+            nullValue();
+        } else if (value instanceof JsonLiteral) {
+            JsonLiteral literal = (JsonLiteral) value;
+            if (literal.isValidToken()) {
+                beforeValue();
+                writeRaw(literal.toString());
+            } else {
+                value(literal.toString());
+            }
+        } else if (value instanceof CharSequence) {
+            value(value.toString());
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short ||
+                value instanceof Byte) {
+            value(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            value(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            value(((Boolean) value).booleanValue());
+        } else {
+            throw new IllegalArgumentException("unable to write value of " + value.getClass());
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+
+        flushBuffer();
+        if (output instanceof Flushable) {
+            ((Flushable) output).flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        flushBuffer();
+        if (output instanceof Closeable) {
+            ((Closeable) output).close();
+        }
+        if (stackSize != 1 || stack[0] != nonEmptyDocument) {
+            throw new IOException("incomplete JSON document");
+        }
+    }
+
+    private void beforeValue() throws IOException {
+
+        int top = stackSize - 1;
+        int scope = stack[top];
+        if (scope == emptyDocument) {
+            stack[top] = nonEmptyDocument;
+        } else if (scope == emptyArray) {
+            stack[top] = nonEmptyArray;
+        } else if (scope == nonEmptyArray) {
+            write(',');
+        } else if (scope == danglingName) {
+            stack[top] = nonEmptyObject;
+        } else if (scope == nonEmptyDocument) {
+            throw new IllegalStateException("a JSON document has only one top-level value");
+        } else {
+            throw new IllegalStateException("a name is required before a value in an object");
+        }
+    }
+
+    private void push(int scope) {
+
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = scope;
+    }
+
+    private void writeString(String value) throws IOException {
+
+        // Runs of characters that do not need escapes are copied to the buffer in blocks. Quotes, backslashes, and
+        // control characters are escaped, as are the line and paragraph separators, which are not allowed in
+        // JavaScript strings.
+        write('"');
+        int length = value.length();
+        int runStart = 0;
+        for (int i = 0; i < length; i++) {
+            char character = value.charAt(i);
+            if (character < ' ' || character == '"' || character == '\\' || character == '\u2028' ||
+                    character == '\u2029') {
+                writeRaw(value, runStart, i);
+                runStart = i + 1;
+                write('\\');
+                if (character == '"' || character == '\\') {
+                    write(character);
+                } else if (character == '\n') {
+                    write('n');
+                } else if (character == '\r') {
+                    write('r');
+                } else if (character == '\t') {
+                    write('t');
+                } else if (character == '\b') {
+                    write('b');
+                } else if (character == '\f') {
+                    write('f');
+                } else {
+                    write('u');
+                    write(hexadecimalCharacters[(character >> 12) & 0xf]);
+                    write(hexadecimalCharacters[(character >> 8) & 0xf]);
+                    write(hexadecimalCharacters[(character >> 4) & 0xf]);
+                    write(hexadecimalCharacters[character & 0xf]);
+                }
+            }
+        }
+        writeRaw(value, runStart, length);
+        write('"');
+    }
+
+    private void writeLong(long value) throws IOException {
+
+        // The digits are written directly into the buffer from the end. The minimum value has no positive
+        // counterpart, so it is written from a constant.
+        if (value == Long.MIN_VALUE) {
+            for (char character : minimumLongCharacters) {
+                write(character);
+            }
+        } else {
+            if (value < 0) {
+                write('-');
+                value = -value;
+            }
+
+            int digits = 1;
+            for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+                digits++;
+            }
+            ensureSpace(digits);
+            for (int i = position + digits - 1; i >= position; i--) {
+                buffer[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            position += digits;
+        }
+    }
+
+    private void writeRaw(String value) throws IOException {
+        writeRaw(value, 0, value.length());
+    }
+
+    private void writeRaw(String value, int start, int end) throws IOException {
+
+        while (start < end) {
+            ensureSpace(1);
+            int count = Math.min(end - start, buffer.length - position);
+            value.getChars(start, start + count, buffer, position);
+            position += count;
+            start += count;
+        }
+    }
+
+    private void write(char character) throws IOException {
+
+        ensureSpace(1);
+        buffer[position++] = character;
+    }
+
+    private void ensureSpace(int count) throws IOException {
+
+        if (buffer.length - position < count) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+
+        if (position > 0) {
+            if (output instanceof StringBuilder) {
+                ((StringBuilder) output).append(buffer, 0, position);
+            } else if (output instanceof Writer) {
+                ((Writer) output).write(buffer, 0, position);
+            } else {
+                output.append(CharBuffer.wrap(buffer, 0, position));
+            }
+            position = 0;
+        }
+    }
+}
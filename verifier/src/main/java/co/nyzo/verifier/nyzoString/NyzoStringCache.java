@@ -0,0 +1,183 @@
+package co.nyzo.verifier.nyzoString;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class NyzoStringCache {
+
+    // The cache is disabled by default. When enabled, it holds the verified header and content of recently decoded and
+    // encoded strings: the type prefix, the length byte, and the content, without the checksum. A decode hit builds a
+    // new object from the cached content, and an encode hit returns the cached string, so neither computes the
+    // double-SHA-256 checksum again. Objects are never shared between callers, so a caller that modifies the arrays of
+    // a decoded object does not affect the cache.
+    private static final Map<String, byte[]> decodeCache = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Map<ByteBuffer, String> encodeCache = new LinkedHashMap<>(16, 0.75f, true);
+    private static final AtomicLong decodeHits = new AtomicLong();
+    private static final AtomicLong decodeMisses = new AtomicLong();
+    private static final AtomicLong encodeHits = new AtomicLong();
+    private static final AtomicLong encodeMisses = new AtomicLong();
+
+    private static volatile int maximumSize = 0;
+    private static volatile boolean privateSeedsCached = false;
+
+    public static void setMaximumSize(int maximumSize) {
+
+        // Each of the decode and encode caches holds at most this many entries. A size of zero disables the cache.
+        synchronized (NyzoStringCache.class) {
+            NyzoStringCache.maximumSize = Math.max(0, maximumSize);
+            trimTo(NyzoStringCache.maximumSize);
+        }
+    }
+
+    public static int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public static void setPrivateSeedsCached(boolean privateSeedsCached) {
+
+        // Private seeds are not cached unless this is enabled, as the cache would otherwise keep a plaintext copy of
+        // every seed decoded or encoded. Disabling this after it has been enabled clears the cache.
+        synchronized (NyzoStringCache.class) {
+            NyzoStringCache.privateSeedsCached = privateSeedsCached;
+            if (!privateSeedsCached) {
+                clear();
+            }
+        }
+    }
+
+    public static boolean isPrivateSeedsCached() {
+        return privateSeedsCached;
+    }
+
+    public static boolean isEnabled() {
+        return maximumSize > 0;
+    }
+
+    static int getDecoded(String encodedString, byte[] expandedArray) {
+
+        // The cached header and content are copied to the caller's array while the lock is held, as an evicted array
+        // is zeroed. The number of bytes copied is returned, or -1 if the string is not in the cache.
+        int length = -1;
+        synchronized (NyzoStringCache.class) {
+            byte[] headerAndContent = decodeCache.get(encodedString);
+            if (headerAndContent != null) {
+                length = headerAndContent.length;
+                System.arraycopy(headerAndContent, 0, expandedArray, 0, length);
+            }
+        }
+
+        if (length < 0) {
+            decodeMisses.incrementAndGet();
+        } else {
+            decodeHits.incrementAndGet();
+        }
+
+        return length;
+    }
+
+    static void putDecoded(String encodedString, NyzoStringType type, byte[] expandedArray,
+                           int headerAndContentLength) {
+
+        if (isCacheable(type)) {
+            byte[] headerAndContent = Arrays.copyOf(expandedArray, headerAndContentLength);
+            synchronized (NyzoStringCache.class) {
+                if (maximumSize > 0) {
+                    decodeCache.put(encodedString, headerAndContent);
+                    trimTo(maximumSize);
+                }
+            }
+        }
+    }
+
+    static String getEncoded(byte[] expandedArray, int headerAndContentLength) {
+
+        String encodedString;
+        synchronized (NyzoStringCache.class) {
+            encodedString = encodeCache.get(ByteBuffer.wrap(expandedArray, 0, headerAndContentLength));
+        }
+
+        if (encodedString == null) {
+            encodeMisses.incrementAndGet();
+        } else {
+            encodeHits.incrementAndGet();
+        }
+
+        return encodedString;
+    }
+
+    static void putEncoded(NyzoStringType type, byte[] expandedArray, int headerAndContentLength,
+                           String encodedString) {
+
+        if (isCacheable(type)) {
+            ByteBuffer key = ByteBuffer.wrap(Arrays.copyOf(expandedArray, headerAndContentLength));
+            synchronized (NyzoStringCache.class) {
+                if (maximumSize > 0) {
+                    encodeCache.put(key, encodedString);
+                    trimTo(maximumSize);
+                }
+            }
+        }
+    }
+
+    private static boolean isCacheable(NyzoStringType type) {
+        return maximumSize > 0 && (type != NyzoStringType.PrivateSeed || privateSeedsCached);
+    }
+
+    private static void trimTo(int size) {
+
+        // Eviction is done through the iterators, not removeEldestEntry(), so that each array is removed from its map
+        // before it is zeroed.
+        Iterator<Map.Entry<String, byte[]>> decodeIterator = decodeCache.entrySet().iterator();
+        while (decodeCache.size() > size && decodeIterator.hasNext()) {
+            Map.Entry<String, byte[]> eldest = decodeIterator.next();
+            decodeIterator.remove();
+            Arrays.fill(eldest.getValue(), (byte) 0);
+        }
+
+        Iterator<Map.Entry<ByteBuffer, String>> encodeIterator = encodeCache.entrySet().iterator();
+        while (encodeCache.size() > size && encodeIterator.hasNext()) {
+            Map.Entry<ByteBuffer, String> eldest = encodeIterator.next();
+            encodeIterator.remove();
+            Arrays.fill(eldest.getKey().array(), (byte) 0);
+        }
+    }
+
+    public static void clear() {
+
+        synchronized (NyzoStringCache.class) {
+            trimTo(0);
+        }
+    }
+
+    public static int getDecodeCacheSize() {
+        synchronized (NyzoStringCache.class) {
+            return decodeCache.size();
+        }
+    }
+
+    public static int getEncodeCacheSize() {
+        synchronized (NyzoStringCache.class) {
+            return encodeCache.size();
+        }
+    }
+
+    public static long getDecodeHits() {
+        return decodeHits.get();
+    }
+
+    public static long getDecodeMisses() {
+        return decodeMisses.get();
+    }
+
+    public static long getEncodeHits() {
+        return encodeHits.get();
+    }
+
+    public static long getEncodeMisses() {
+        return encodeMisses.get();
+    }
+}
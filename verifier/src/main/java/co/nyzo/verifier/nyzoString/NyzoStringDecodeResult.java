@@ -0,0 +1,32 @@
+package co.nyzo.verifier.nyzoString;
+
+public class NyzoStringDecodeResult {
+
+    private final NyzoStringDecodeStatus status;
+    private final NyzoStringType type;
+    private final NyzoString nyzoString;
+
+    NyzoStringDecodeResult(NyzoStringDecodeStatus status, NyzoStringType type, NyzoString nyzoString) {
+        this.status = status;
+        this.type = type;
+        this.nyzoString = nyzoString;
+    }
+
+    public NyzoStringDecodeStatus getStatus() {
+        return status;
+    }
+
+    public boolean isSuccess() {
+        return status == NyzoStringDecodeStatus.Success;
+    }
+
+    public NyzoStringType getType() {
+        // This is the type indicated by the prefix, if the prefix was recognized, even if decoding failed later.
+        return type;
+    }
+
+    public NyzoString getNyzoString() {
+        // This is null unless decoding succeeded.
+        return nyzoString;
+    }
+}
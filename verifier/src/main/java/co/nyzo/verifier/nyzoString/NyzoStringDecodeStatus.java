@@ -0,0 +1,11 @@
+package co.nyzo.verifier.nyzoString;
+
+public enum NyzoStringDecodeStatus {
+    Success,
+    InvalidLength,
+    UnknownPrefix,
+    WrongType,
+    InvalidContentLength,
+    InvalidChecksum,
+    InvalidContent
+}
@@ -0,0 +1,449 @@
+package co.nyzo.verifier.nyzoString;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import co.nyzo.verifier.FieldByteSize;
+import co.nyzo.verifier.util.ByteUtil;
+import co.nyzo.verifier.util.HashUtil;
+
+public class NyzoStringEncoder {
+
+    private static final char[] characterLookup = ("0123456789" +
+            "abcdefghijkmnopqrstuvwxyz" +  // all except lowercase "L"
+            "ABCDEFGHIJKLMNPQRSTUVWXYZ" +  // all except uppercase "o"
+            //"*+=_").toCharArray();       // old encoding, less URL-friendly
+            "-.~_").toCharArray();         // see https://tools.ietf.org/html/rfc3986#section-2.3
+
+    // This maps each ASCII character to its 6-bit value. Characters that are not in the lookup decode as zero. The
+    // normalized table used by decode() also maps characters from the old encoding, which were changed to make Nyzo
+    // strings more URL-friendly, and characters that may be mistyped, as Nyzo strings contain neither 'l' nor 'O'.
+    private static final byte[] characterToValue = new byte[128];
+    private static final byte[] normalizedCharacterToValue;
+    static {
+        for (int i = 0; i < characterLookup.length; i++) {
+            characterToValue[characterLookup[i]] = (byte) i;
+        }
+
+        normalizedCharacterToValue = Arrays.copyOf(characterToValue, characterToValue.length);
+        normalizedCharacterToValue['*'] = characterToValue['-'];
+        normalizedCharacterToValue['+'] = characterToValue['.'];
+        normalizedCharacterToValue['='] = characterToValue['~'];
+        normalizedCharacterToValue['l'] = characterToValue['I'];
+        normalizedCharacterToValue['O'] = characterToValue['0'];
+    }
+
+    private static final int headerLength = 4;
+
+    // The content length is stored in a single byte, and the checksum is at most 6 bytes, so no valid expanded array is
+    // longer than this. Encoding and decoding write the expanded array and the characters to per-thread buffers of
+    // these sizes.
+    private static final int maximumExpandedLength = (headerLength + 255 + 6 + 2) / 3 * 3;
+    public static final int maximumEncodedLength = maximumExpandedLength / 3 * 4;
+    private static final ThreadLocal<byte[]> expandedBuffer = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[maximumExpandedLength];
+        }
+    };
+    private static final ThreadLocal<char[]> characterBuffer = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[maximumEncodedLength];
+        }
+    };
+
+    // The checksum is the leading bytes of a double-SHA-256. The full hash is written to a per-thread buffer so that
+    // computing and checking checksums does not allocate.
+    private static final ThreadLocal<byte[]> checksumHash = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[FieldByteSize.hash];
+        }
+    };
+
+    public static String encode(NyzoString stringObject) {
+
+        String encodedString;
+        if (NyzoStringCache.isEnabled()) {
+            encodedString = encodeWithCache(stringObject);
+        } else {
+            int expandedLength = writeExpandedArray(stringObject);
+            char[] characters = characterBuffer(expandedLength);
+            int length = encodedCharactersForByteArray(expandedBuffer.get(), 0, expandedLength, characters, 0);
+            encodedString = new String(characters, 0, length);
+        }
+
+        return encodedString;
+    }
+
+    public static int encode(NyzoString stringObject, char[] output, int outputOffset) {
+
+        // The characters are written to the output array at the specified offset, and the number of characters written
+        // is returned. An output array with maximumEncodedLength characters after the offset is always large enough
+        // for a valid string.
+        int length;
+        if (NyzoStringCache.isEnabled()) {
+            String encodedString = encodeWithCache(stringObject);
+            length = encodedString.length();
+            encodedString.getChars(0, length, output, outputOffset);
+        } else {
+            int expandedLength = writeExpandedArray(stringObject);
+            length = encodedCharactersForByteArray(expandedBuffer.get(), 0, expandedLength, output, outputOffset);
+        }
+
+        return length;
+    }
+
+    public static void encode(NyzoString stringObject, Appendable output) throws IOException {
+
+        if (NyzoStringCache.isEnabled()) {
+            output.append(encodeWithCache(stringObject));
+        } else {
+            int expandedLength = writeExpandedArray(stringObject);
+            char[] characters = characterBuffer(expandedLength);
+            int length = encodedCharactersForByteArray(expandedBuffer.get(), 0, expandedLength, characters, 0);
+            append(output, characters, length);
+        }
+    }
+
+    private static String encodeWithCache(NyzoString stringObject) {
+
+        // The cache is keyed by the header and content, so the checksum is only computed for a miss. As the key is the
+        // content, not the object, an object that has changed since it was last encoded is never given a stale string.
+        int contentLength = writeHeaderAndContent(stringObject);
+        byte[] expandedArray = expandedBuffer.get();
+        String encodedString = NyzoStringCache.getEncoded(expandedArray, headerLength + contentLength);
+        if (encodedString == null) {
+            int expandedLength = writeChecksum(expandedArray, contentLength);
+            char[] characters = characterBuffer(expandedLength);
+            int length = encodedCharactersForByteArray(expandedArray, 0, expandedLength, characters, 0);
+            encodedString = new String(characters, 0, length);
+            NyzoStringCache.putEncoded(stringObject.getType(), expandedArray, headerLength + contentLength,
+                    encodedString);
+        }
+
+        return encodedString;
+    }
+
+    public static void encode(Iterable<? extends NyzoString> stringObjects, CharSequence separator,
+                              Appendable output) throws IOException {
+
+        // All strings are encoded through the same per-thread buffers and appended to the single output, so no builder
+        // or string is created for each object.
+        boolean first = true;
+        for (NyzoString stringObject : stringObjects) {
+            if (!first && separator != null) {
+                output.append(separator);
+            }
+            first = false;
+
+            encode(stringObject, output);
+        }
+    }
+
+    private static void append(Appendable output, char[] characters, int length) throws IOException {
+
+        if (output instanceof StringBuilder) {
+            ((StringBuilder) output).append(characters, 0, length);
+        } else if (output instanceof CharBuffer) {
+            ((CharBuffer) output).put(characters, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                output.append(characters[i]);
+            }
+        }
+    }
+
+    private static char[] characterBuffer(int expandedLength) {
+
+        // Content too long for the length byte is still encoded, so the per-thread buffers are replaced with larger
+        // ones when needed.
+        char[] characters = characterBuffer.get();
+        int encodedLength = expandedLength / 3 * 4;
+        if (characters.length < encodedLength) {
+            characters = new char[encodedLength];
+            characterBuffer.set(characters);
+        }
+
+        return characters;
+    }
+
+    private static int writeExpandedArray(NyzoString stringObject) {
+
+        // The expanded array is written to the per-thread buffer, and its length is returned.
+        int contentLength = writeHeaderAndContent(stringObject);
+        return writeChecksum(expandedBuffer.get(), contentLength);
+    }
+
+    private static int writeHeaderAndContent(NyzoString stringObject) {
+
+        // The header and content are written to the per-thread buffer, which is replaced with a larger one if it cannot
+        // hold the full expanded array, and the content length is returned.
+
+        // Get the prefix array from the type and the content array from the content object.
+        byte[] prefixBytes = stringObject.getType().getPrefixBytes();
+        byte[] contentBytes = stringObject.getBytes();
+
+        byte[] expandedArray = expandedBuffer.get();
+        int expandedLength = headerLength + contentBytes.length + checksumLength(contentBytes.length);
+        if (expandedArray.length < expandedLength) {
+            expandedArray = new byte[expandedLength];
+            expandedBuffer.set(expandedArray);
+        }
+
+        // Add the header and the content. The first three bytes turn into the user-readable prefix in the encoded
+        // string. The next byte specifies the length of the content array, and it is immediately followed by the
+        // content array.
+        System.arraycopy(prefixBytes, 0, expandedArray, 0, prefixBytes.length);
+        expandedArray[prefixBytes.length] = (byte) contentBytes.length;
+        System.arraycopy(contentBytes, 0, expandedArray, headerLength, contentBytes.length);
+
+        return contentBytes.length;
+    }
+
+    private static int checksumLength(int contentLength) {
+
+        // The header is the type-specific prefix in characters followed by a single byte that indicates the length of
+        // the content array (four bytes total). The checksum is a minimum of 4 bytes and a maximum of 6 bytes, widening
+        // the expanded array so that its length is divisible by 3.
+        return 4 + (3 - (contentLength + 2) % 3) % 3;
+    }
+
+    private static int writeChecksum(byte[] expandedArray, int contentLength) {
+
+        // Compute the checksum and add the appropriate number of bytes to the end of the array. The length of the
+        // expanded array is returned.
+        int checksumLength = checksumLength(contentLength);
+        writeChecksum(expandedArray, headerLength + contentLength, checksumLength);
+
+        return headerLength + contentLength + checksumLength;
+    }
+
+    public static NyzoString decode(String encodedString) {
+
+        return decode(encodedString, null).getNyzoString();
+    }
+
+    public static NyzoStringDecodeResult decode(String encodedString, NyzoStringType expectedType) {
+
+        // If an expected type is provided, a string of any other type is rejected after only its prefix characters
+        // are examined. Otherwise, any type is accepted. The result indicates the reason for any failure.
+        NyzoStringDecodeStatus status;
+        NyzoStringType type = null;
+        NyzoString result = null;
+
+        try {
+            // Only continue if the length is possible. Characters are normalized as they are decoded, so no
+            // intermediate strings are created.
+            int length = encodedString == null ? 0 : encodedString.length();
+            int expandedLength = length / 4 * 3;
+            if (length < headerLength || length % 4 != 0 || expandedLength > maximumExpandedLength) {
+                status = NyzoStringDecodeStatus.InvalidLength;
+            } else if (expectedType != null && !prefixMatches(encodedString, expectedType)) {
+                byte[] prefixArray = new byte[3];
+                decodeCharacters(encodedString, 0, headerLength, prefixArray, 0, normalizedCharacterToValue);
+                type = NyzoStringType.forPrefixBytes(prefixArray);
+                status = type == null ? NyzoStringDecodeStatus.UnknownPrefix : NyzoStringDecodeStatus.WrongType;
+            } else {
+                // A string in the cache was verified when it was added, so its header and content are used without
+                // decoding the characters or checking the checksum again.
+                byte[] expandedArray = expandedBuffer.get();
+                int cachedLength = NyzoStringCache.isEnabled() ? NyzoStringCache.getDecoded(encodedString,
+                        expandedArray) : -1;
+                if (cachedLength >= 0) {
+                    type = NyzoStringType.forPrefixBytes(expandedArray);
+                    result = objectForContent(type, expandedArray, cachedLength - headerLength);
+                    status = result == null ? NyzoStringDecodeStatus.InvalidContent : NyzoStringDecodeStatus.Success;
+                } else {
+                    // The first four characters are the prefix, which decodes to the first three bytes of the
+                    // expanded array. Get the type from these bytes, and decode the rest of the string only if the
+                    // type is valid.
+                    decodeCharacters(encodedString, 0, headerLength, expandedArray, 0, normalizedCharacterToValue);
+                    type = NyzoStringType.forPrefixBytes(expandedArray);
+                    if (type == null) {
+                        status = NyzoStringDecodeStatus.UnknownPrefix;
+                    } else {
+                        decodeCharacters(encodedString, headerLength, length, expandedArray, 3,
+                                normalizedCharacterToValue);
+
+                        // Get the content length from the next byte and calculate the checksum length. Only continue
+                        // if the checksum length is valid and the checksum matches.
+                        int contentLength = expandedArray[3] & 0xff;
+                        int checksumLength = expandedLength - contentLength - 4;
+                        if (checksumLength < 4 || checksumLength > 6) {
+                            status = NyzoStringDecodeStatus.InvalidContentLength;
+                        } else if (!checksumIsValid(expandedArray, headerLength + contentLength, checksumLength)) {
+                            status = NyzoStringDecodeStatus.InvalidChecksum;
+                        } else {
+                            result = objectForContent(type, expandedArray, contentLength);
+                            if (result == null) {
+                                status = NyzoStringDecodeStatus.InvalidContent;
+                            } else {
+                                status = NyzoStringDecodeStatus.Success;
+                                NyzoStringCache.putDecoded(encodedString, type, expandedArray,
+                                        headerLength + contentLength);
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (Exception ignored) {
+            status = NyzoStringDecodeStatus.InvalidContent;
+            result = null;
+        }
+
+        return new NyzoStringDecodeResult(status, type, result);
+    }
+
+    private static boolean prefixMatches(String encodedString, NyzoStringType type) {
+
+        // The prefix characters are compared by value, so normalized characters match as they would when decoded.
+        String prefix = type.getPrefix();
+        boolean matches = true;
+        for (int i = 0; i < headerLength && matches; i++) {
+            matches = valueForCharacter(encodedString.charAt(i), normalizedCharacterToValue) ==
+                    characterToValue[prefix.charAt(i)];
+        }
+
+        return matches;
+    }
+
+    private static NyzoString objectForContent(NyzoStringType type, byte[] expandedArray, int contentLength) {
+
+        // Make the object from the content. This is the encoded object with the prefix, length byte, and checksum
+        // removed. The types that are read from a buffer copy their fields as they read, so they read directly from
+        // the expanded array.
+        NyzoString result = null;
+        switch (type) {
+            case Micropay:
+                result = NyzoStringMicropay.fromByteBuffer(contentBuffer(expandedArray, contentLength));
+                break;
+            case PrefilledData:
+                result = NyzoStringPrefilledData.fromByteBuffer(contentBuffer(expandedArray, contentLength));
+                break;
+            case PrivateSeed:
+                result = new NyzoStringPrivateSeed(contentBytes(expandedArray, contentLength));
+                break;
+            case PublicIdentifier:
+                result = new NyzoStringPublicIdentifier(contentBytes(expandedArray, contentLength));
+                break;
+            case Signature:
+                result = new NyzoStringSignature(contentBytes(expandedArray, contentLength));
+                break;
+            case Transaction:
+                result = NyzoStringTransaction.fromByteBuffer(contentBuffer(expandedArray, contentLength));
+                break;
+        }
+
+        return result;
+    }
+
+    private static void writeChecksum(byte[] expandedArray, int checksumOffset, int checksumLength) {
+
+        // The checksum covers the header and content, which are all bytes before the checksum.
+        byte[] hash = checksumHash.get();
+        HashUtil.doubleSHA256(expandedArray, 0, checksumOffset, hash, 0);
+        System.arraycopy(hash, 0, expandedArray, checksumOffset, checksumLength);
+    }
+
+    private static boolean checksumIsValid(byte[] expandedArray, int checksumOffset, int checksumLength) {
+
+        byte[] hash = checksumHash.get();
+        HashUtil.doubleSHA256(expandedArray, 0, checksumOffset, hash, 0);
+
+        return ByteUtil.arraysAreEqual(hash, 0, expandedArray, checksumOffset, checksumLength);
+    }
+
+    private static ByteBuffer contentBuffer(byte[] expandedArray, int contentLength) {
+        return ByteBuffer.wrap(expandedArray, headerLength, contentLength);
+    }
+
+    private static byte[] contentBytes(byte[] expandedArray, int contentLength) {
+        return Arrays.copyOfRange(expandedArray, headerLength, headerLength + contentLength);
+    }
+
+    public static byte[] byteArrayForEncodedString(String encodedString) {
+
+        byte[] array = new byte[encodedString.length() / 4 * 3];
+        byteArrayForEncodedString(encodedString, 0, encodedString.length(), array, 0);
+
+        return array;
+    }
+
+    public static int byteArrayForEncodedString(CharSequence encodedString, int start, int end, byte[] output,
+                                                int outputOffset) {
+
+        return decodeCharacters(encodedString, start, end, output, outputOffset, characterToValue);
+    }
+
+    private static int decodeCharacters(CharSequence encodedString, int start, int end, byte[] output,
+                                        int outputOffset, byte[] table) {
+
+        // Each group of four characters is 24 bits, which decodes to three bytes. Encoded strings are always made of
+        // whole groups, as the expanded array is padded to a multiple of three bytes. The number of bytes written is
+        // returned.
+        int length = end - start;
+        if (length % 4 != 0) {
+            throw new IllegalArgumentException("encoded string length " + length + " is not a multiple of 4");
+        }
+
+        int outputIndex = outputOffset;
+        for (int i = start; i < end; i += 4) {
+            int word = (valueForCharacter(encodedString.charAt(i), table) << 18) |
+                    (valueForCharacter(encodedString.charAt(i + 1), table) << 12) |
+                    (valueForCharacter(encodedString.charAt(i + 2), table) << 6) |
+                    valueForCharacter(encodedString.charAt(i + 3), table);
+            output[outputIndex] = (byte) (word >> 16);
+            output[outputIndex + 1] = (byte) (word >> 8);
+            output[outputIndex + 2] = (byte) word;
+            outputIndex += 3;
+        }
+
+        return outputIndex - outputOffset;
+    }
+
+    private static int valueForCharacter(char character, byte[] table) {
+        return character < 128 ? table[character] : 0;
+    }
+
+    public static String encodedStringForByteArray(byte[] array) {
+
+        char[] characters = new char[(array.length * 4 + 2) / 3];
+        encodedCharactersForByteArray(array, 0, array.length, characters, 0);
+
+        return new String(characters);
+    }
+
+    public static int encodedCharactersForByteArray(byte[] array, int offset, int length, char[] output,
+                                                    int outputOffset) {
+
+        // Each group of three bytes is 24 bits, which encodes to four characters. A final partial group of one or two
+        // bytes is padded with zero bits and encodes to two or three characters. The number of characters written is
+        // returned.
+        int outputIndex = outputOffset;
+        int fullGroupEnd = offset + length / 3 * 3;
+        int i = offset;
+        for (; i < fullGroupEnd; i += 3) {
+            int word = ((array[i] & 0xff) << 16) | ((array[i + 1] & 0xff) << 8) | (array[i + 2] & 0xff);
+            output[outputIndex] = characterLookup[word >>> 18];
+            output[outputIndex + 1] = characterLookup[(word >>> 12) & 0x3f];
+            output[outputIndex + 2] = characterLookup[(word >>> 6) & 0x3f];
+            output[outputIndex + 3] = characterLookup[word & 0x3f];
+            outputIndex += 4;
+        }
+
+        int remaining = offset + length - i;
+        if (remaining > 0) {
+            int word = ((array[i] & 0xff) << 16) | (remaining > 1 ? (array[i + 1] & 0xff) << 8 : 0);
+            for (int j = 0; j <= remaining; j++) {
+                output[outputIndex++] = characterLookup[(word >>> (18 - j * 6)) & 0x3f];
+            }
+        }
+
+        return outputIndex - outputOffset;
+    }
+}
+
@@ -9,6 +9,8 @@ public enum NyzoStringType {
     Signature("sig_"),
     Transaction("tx__");
 
+    private static final NyzoStringType[] types = values();
+
     private String prefix;
     private byte[] prefixBytes;
 
@@ -25,6 +27,21 @@ public enum NyzoStringType {
         return prefixBytes;
     }
 
+    public static NyzoStringType forPrefixBytes(byte[] array) {
+
+        // Each prefix is four characters, which encode to three bytes. No prefix contains a character that shares a
+        // value with the characters that decode as zero, so the bytes identify the prefix as well as the characters.
+        NyzoStringType result = null;
+        for (NyzoStringType type : types) {
+            byte[] prefixBytes = type.prefixBytes;
+            if (prefixBytes[0] == array[0] && prefixBytes[1] == array[1] && prefixBytes[2] == array[2]) {
+                result = type;
+            }
+        }
+
+        return result;
+    }
+
     public static NyzoStringType forPrefix(String prefix) {
 
         NyzoStringType result = null;
@@ -0,0 +1,317 @@
+package co.nyzo.verifier.util;
+
+import net.i2p.crypto.eddsa.math.Curve;
+import net.i2p.crypto.eddsa.math.GroupElement;
+import net.i2p.crypto.eddsa.math.ScalarOps;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import co.nyzo.verifier.FieldByteSize;
+
+public class BatchSignatureVerifier {
+
+    // This class verifies many Ed25519 signatures with a single multi-scalar multiplication. Each signature (R, S) on
+    // message M by identifier A satisfies SB = R + kA, where k = SHA-512(R || A || M). For random 128-bit z_i, the
+    // batch is accepted if 8(sum(z_i S_i)B - sum(z_i R_i) - sum(z_i k_i A_i)) is the identity. A batch containing an
+    // invalid signature passes with probability of about 2^-128. The terms for signatures by the same identifier are
+    // combined, so the cost of a batch drops further when identifiers repeat, as they do in cycle transactions.
+
+    // The batch equation is the cofactored equation permitted by RFC 8032, while SignatureUtil uses the cofactorless
+    // equation of the EdDSA library. Both accept every signature made by a conforming signer. They differ only for
+    // signatures deliberately constructed with small-order components, which the batch may accept. Where exact
+    // agreement with SignatureUtil is required, use SignatureUtil directly.
+
+    // Signatures that the batch equation cannot represent exactly as SignatureUtil would check them (wrong lengths,
+    // non-canonical encodings of R or A, S not reduced, or points that do not decode) are always checked with
+    // SignatureUtil. When a batch fails, it is split in half and each half is checked again, so the invalid signatures
+    // are located with few additional checks when most signatures are valid.
+
+    // Batches at or below this size are checked one signature at a time.
+    private static final int minimumBatchSize = 4;
+
+    private static final int randomScalarLength = 16;
+
+    // The group order, little-endian.
+    private static final byte[] groupOrder = {
+            (byte) 0xed, (byte) 0xd3, (byte) 0xf5, (byte) 0x5c, (byte) 0x1a, (byte) 0x63, (byte) 0x12, (byte) 0x58,
+            (byte) 0xd6, (byte) 0x9c, (byte) 0xf7, (byte) 0xa2, (byte) 0xde, (byte) 0xf9, (byte) 0xde, (byte) 0x14,
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) 0x10
+    };
+
+    private static final SecureRandom random = new SecureRandom();
+
+    public static boolean[] signaturesAreValid(byte[][] signatures, byte[][] signedBytes, byte[][] publicIdentifiers) {
+
+        // Each signature is prepared once: its R is decoded, its table of multiples is built, and its hash is
+        // computed. The same is done once for each distinct identifier. These are reused if the batch is split.
+        boolean[] results = new boolean[signatures.length];
+        List<BatchItem> items = new ArrayList<>();
+        Map<ByteBuffer, GroupElement[]> identifierTables = new HashMap<>();
+        MessageDigest digest = null;
+        for (int i = 0; i < signatures.length; i++) {
+            BatchItem item = null;
+            if (canBatch(signatures[i], signedBytes[i], publicIdentifiers[i])) {
+                try {
+                    if (digest == null) {
+                        digest = MessageDigest.getInstance(SignatureUtil.spec.getHashAlgorithm());
+                    }
+                    item = new BatchItem(i, signatures[i], signedBytes[i], publicIdentifiers[i], identifierTables,
+                            digest);
+                } catch (Exception ignored) { }
+            }
+
+            if (item == null) {
+                results[i] = SignatureUtil.signatureIsValid(signatures[i], signedBytes[i], publicIdentifiers[i]);
+            } else {
+                items.add(item);
+            }
+        }
+
+        verifyBatch(items, identifierTables, signatures, signedBytes, publicIdentifiers, results);
+
+        return results;
+    }
+
+    private static void verifyBatch(List<BatchItem> items, Map<ByteBuffer, GroupElement[]> identifierTables,
+                                    byte[][] signatures, byte[][] signedBytes, byte[][] publicIdentifiers,
+                                    boolean[] results) {
+
+        if (items.size() <= minimumBatchSize) {
+            for (BatchItem item : items) {
+                results[item.index] = SignatureUtil.signatureIsValid(signatures[item.index], signedBytes[item.index],
+                        publicIdentifiers[item.index]);
+            }
+        } else if (batchEquationHolds(items, identifierTables)) {
+            for (BatchItem item : items) {
+                results[item.index] = true;
+            }
+        } else {
+            int middle = items.size() / 2;
+            verifyBatch(items.subList(0, middle), identifierTables, signatures, signedBytes, publicIdentifiers,
+                    results);
+            verifyBatch(items.subList(middle, items.size()), identifierTables, signatures, signedBytes,
+                    publicIdentifiers, results);
+        }
+    }
+
+    private static boolean batchEquationHolds(List<BatchItem> items, Map<ByteBuffer, GroupElement[]> identifierTables) {
+
+        boolean holds;
+        try {
+            Curve curve = SignatureUtil.spec.getCurve();
+            ScalarOps scalarOps = SignatureUtil.spec.getScalarOps();
+
+            // Build the terms of the multi-scalar multiplication. A new random z is chosen for each signature in each
+            // attempt. The A terms are accumulated by identifier.
+            byte[] baseScalar = new byte[FieldByteSize.hash];
+            List<GroupElement[]> tables = new ArrayList<>();
+            List<byte[]> scalars = new ArrayList<>();
+            Map<ByteBuffer, byte[]> identifierScalars = new HashMap<>();
+            byte[] randomBytes = new byte[randomScalarLength];
+            for (BatchItem item : items) {
+                byte[] z = new byte[FieldByteSize.hash];
+                random.nextBytes(randomBytes);
+                System.arraycopy(randomBytes, 0, z, 0, randomScalarLength);
+
+                baseScalar = scalarOps.multiplyAndAdd(z, item.s, baseScalar);
+
+                tables.add(item.rTable);
+                scalars.add(z);
+
+                byte[] identifierScalar = identifierScalars.get(item.identifier);
+                if (identifierScalar == null) {
+                    identifierScalar = new byte[FieldByteSize.hash];
+                }
+                identifierScalars.put(item.identifier, scalarOps.multiplyAndAdd(z, item.k, identifierScalar));
+            }
+
+            for (Map.Entry<ByteBuffer, byte[]> entry : identifierScalars.entrySet()) {
+                tables.add(identifierTables.get(entry.getKey()));
+                scalars.add(entry.getValue());
+            }
+
+            // Compute sum(z_i S_i)B - sum(z_i R_i) - sum(z_i k_i A_i), multiply by the cofactor, and check for the
+            // identity.
+            GroupElement result = negatedMultiScalarMultiply(curve, tables, scalars)
+                    .add(SignatureUtil.spec.getB().scalarMultiply(baseScalar).toCached());
+            result = result.toP2().dbl().toP2().dbl().toP2().dbl().toP2();
+            holds = !result.getX().isNonZero() && !result.getY().subtract(result.getZ()).isNonZero();
+        } catch (Exception ignored) {
+            holds = false;
+        }
+
+        return holds;
+    }
+
+    private static GroupElement negatedMultiScalarMultiply(Curve curve, List<GroupElement[]> tables,
+                                                           List<byte[]> scalars) {
+
+        // This is Straus's method with width-5 signed windows: all points share one sequence of doublings, and each
+        // point contributes an addition from its table of odd multiples for each non-zero window digit. The points
+        // are subtracted rather than added, so the result is -sum(s_i P_i). The result is in P3 representation.
+        int count = tables.size();
+        byte[][] digits = new byte[count][];
+        int topDigit = -1;
+        for (int i = 0; i < count; i++) {
+            digits[i] = slide(scalars.get(i));
+            for (int j = digits[i].length - 1; j > topDigit; j--) {
+                if (digits[i][j] != 0) {
+                    topDigit = j;
+                }
+            }
+        }
+
+        GroupElement result = curve.getZero(GroupElement.Representation.P3);
+        for (int j = topDigit; j >= 0; j--) {
+            GroupElement sum = result.dbl();
+            for (int i = 0; i < count; i++) {
+                int digit = digits[i][j];
+                if (digit > 0) {
+                    sum = sum.toP3().sub(tables.get(i)[digit / 2]);
+                } else if (digit < 0) {
+                    sum = sum.toP3().add(tables.get(i)[-digit / 2]);
+                }
+            }
+            result = sum.toP3();
+        }
+
+        return result;
+    }
+
+    private static GroupElement[] oddMultiples(GroupElement point) {
+
+        // P, 3P, 5P, ..., 15P in cached representation, for the signed windows produced by slide().
+        GroupElement[] table = new GroupElement[8];
+        GroupElement doubled = point.dbl().toP3().toCached();
+        GroupElement current = point;
+        table[0] = current.toCached();
+        for (int i = 1; i < table.length; i++) {
+            current = current.add(doubled).toP3();
+            table[i] = current.toCached();
+        }
+
+        return table;
+    }
+
+    private static byte[] slide(byte[] scalar) {
+
+        // This is the sliding-window recoding of the reference Ed25519 implementation, also used by the EdDSA
+        // library. The result has one digit per bit, and every non-zero digit is odd and between -15 and 15. All
+        // scalars here are reduced, so the carry never extends past the last digit.
+        byte[] result = new byte[256];
+        for (int i = 0; i < 256; i++) {
+            result[i] = (byte) (1 & (scalar[i >> 3] >> (i & 7)));
+        }
+
+        for (int i = 0; i < 256; i++) {
+            if (result[i] != 0) {
+                for (int b = 1; b <= 6 && i + b < 256; b++) {
+                    if (result[i + b] != 0) {
+                        if (result[i] + (result[i + b] << b) <= 15) {
+                            result[i] += result[i + b] << b;
+                            result[i + b] = 0;
+                        } else if (result[i] - (result[i + b] << b) >= -15) {
+                            result[i] -= result[i + b] << b;
+                            for (int k = i + b; k < 256; k++) {
+                                if (result[k] == 0) {
+                                    result[k] = 1;
+                                    break;
+                                }
+                                result[k] = 0;
+                            }
+                        } else {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean canBatch(byte[] signature, byte[] signedBytes, byte[] publicIdentifier) {
+
+        // SignatureUtil compares the computed R to the provided R byte for byte, and it hashes the canonical encoding
+        // of A. The batch equation only matches this for canonical encodings.
+        return signature != null && signedBytes != null && publicIdentifier != null &&
+                signature.length == FieldByteSize.signature && publicIdentifier.length == FieldByteSize.identifier &&
+                isCanonicalPointEncoding(signature) && isCanonicalPointEncoding(publicIdentifier) &&
+                isReducedScalar(signature, FieldByteSize.hash);
+    }
+
+    private static boolean isCanonicalPointEncoding(byte[] array) {
+
+        // The encoding is the little-endian y-coordinate with the sign of x in the top bit. The y-coordinate must be
+        // less than p = 2^255 - 19. The sign bit must be clear when x is zero, which happens for y = 1 and y = p - 1.
+        int top = array[31] & 0x7f;
+        boolean signBitSet = (array[31] & 0x80) != 0;
+        boolean middleAllOnes = true;
+        boolean middleAllZeros = true;
+        for (int i = 1; i < 31; i++) {
+            middleAllOnes &= array[i] == (byte) 0xff;
+            middleAllZeros &= array[i] == 0;
+        }
+        int first = array[0] & 0xff;
+
+        boolean yAtLeastP = top == 0x7f && middleAllOnes && first >= 0xed;
+        boolean yIsOne = top == 0 && middleAllZeros && first == 1;
+        boolean yIsPMinusOne = top == 0x7f && middleAllOnes && first == 0xec;
+
+        return !yAtLeastP && !(signBitSet && (yIsOne || yIsPMinusOne));
+    }
+
+    private static boolean isReducedScalar(byte[] array, int offset) {
+
+        // Compare to the group order from the most significant byte down.
+        boolean isReduced = false;
+        boolean determined = false;
+        for (int i = 31; i >= 0 && !determined; i--) {
+            int value = array[offset + i] & 0xff;
+            int orderValue = groupOrder[i] & 0xff;
+            if (value != orderValue) {
+                isReduced = value < orderValue;
+                determined = true;
+            }
+        }
+
+        return isReduced;
+    }
+
+    private static class BatchItem {
+
+        private final int index;
+        private final byte[] s;
+        private final byte[] k;
+        private final ByteBuffer identifier;
+        private final GroupElement[] rTable;
+
+        BatchItem(int index, byte[] signature, byte[] signedBytes, byte[] publicIdentifier,
+                  Map<ByteBuffer, GroupElement[]> identifierTables, MessageDigest digest) {
+
+            // Decoding throws an exception for points that are not on the curve. This happens before anything is
+            // stored, so a signature with a bad point is checked individually rather than failing the batch.
+            Curve curve = SignatureUtil.spec.getCurve();
+            this.index = index;
+            this.rTable = oddMultiples(new GroupElement(curve, Arrays.copyOf(signature, FieldByteSize.hash)));
+            this.identifier = ByteBuffer.wrap(publicIdentifier);
+            if (!identifierTables.containsKey(identifier)) {
+                identifierTables.put(identifier, oddMultiples(new GroupElement(curve, publicIdentifier)));
+            }
+
+            // k = SHA-512(R || A || M), reduced.
+            digest.update(signature, 0, FieldByteSize.hash);
+            digest.update(publicIdentifier);
+            digest.update(signedBytes);
+            this.k = SignatureUtil.spec.getScalarOps().reduce(digest.digest());
+            this.s = Arrays.copyOfRange(signature, FieldByteSize.hash, FieldByteSize.signature);
+        }
+    }
+}
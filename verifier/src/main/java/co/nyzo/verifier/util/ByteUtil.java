@@ -0,0 +1,193 @@
+package co.nyzo.verifier.util;
+
+import java.util.Arrays;
+
+public class ByteUtil {
+
+    // Hexadecimal strings are written and read through these tables, so no formatter or intermediate string is
+    // created for each byte. The value table maps each ASCII character to its 4-bit value, or -1 for characters that
+    // are not hexadecimal digits. Both cases are accepted when reading.
+    private static final char[] hexadecimalCharacters = "0123456789abcdef".toCharArray();
+    private static final byte[] hexadecimalValues = new byte[128];
+    static {
+        Arrays.fill(hexadecimalValues, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            hexadecimalValues[hexadecimalCharacters[i]] = (byte) i;
+            hexadecimalValues[Character.toUpperCase(hexadecimalCharacters[i])] = (byte) i;
+        }
+    }
+
+    public static String arrayAsStringNoDashes(byte[] array) {
+
+        return arrayAsStringNoDashes(array, 0, array == null ? 0 : array.length);
+    }
+
+    public static String arrayAsStringNoDashes(byte[] array, int offset, int length) {
+
+        // As before, the part of the range that is within the array is printed, and a negative offset prints nothing.
+        String result;
+        if (array == null) {
+            result = "(null)";
+        } else if (offset < 0 || length <= 0 || offset >= array.length) {
+            result = "";
+        } else {
+            length = Math.min(length, array.length - offset);
+            char[] characters = new char[length * 2];
+            writeHexadecimal(array, offset, length, characters, 0);
+            result = new String(characters);
+        }
+
+        return result;
+    }
+
+    public static String arrayAsStringWithDashes(byte[] array) {
+
+        // A dash is written after every eighth byte except the last.
+        String result;
+        if (array == null) {
+            result = "(null)";
+        } else if (array.length == 0) {
+            result = "";
+        } else {
+            char[] characters = new char[array.length * 2 + (array.length - 1) / 8];
+            int characterIndex = 0;
+            for (int i = 0; i < array.length; i += 8) {
+                if (i > 0) {
+                    characters[characterIndex++] = '-';
+                }
+                characterIndex = writeHexadecimal(array, i, Math.min(8, array.length - i), characters,
+                        characterIndex);
+            }
+            result = new String(characters);
+        }
+
+        return result;
+    }
+
+    public static int writeHexadecimal(byte[] array, int offset, int length, char[] characters, int characterOffset) {
+
+        // This writes two lowercase characters for each byte of the range and returns the index after the last
+        // character written.
+        for (int i = offset; i < offset + length; i++) {
+            int value = array[i];
+            characters[characterOffset++] = hexadecimalCharacters[(value >> 4) & 0xf];
+            characters[characterOffset++] = hexadecimalCharacters[value & 0xf];
+        }
+
+        return characterOffset;
+    }
+
+    public static boolean arraysAreEqual(byte[] array1, byte[] array2) {
+
+        boolean arraysAreEqual;
+        if (array1 == null || array2 == null) {
+            arraysAreEqual = array1 == null && array2 == null;
+        } else {
+            arraysAreEqual = array1.length == array2.length;
+            for (int i = 0; i < array1.length && arraysAreEqual; i++) {
+                if (array1[i] != array2[i]) {
+                    arraysAreEqual = false;
+                }
+            }
+        }
+
+        return arraysAreEqual;
+    }
+
+    public static boolean arraysAreEqual(byte[] array1, int offset1, byte[] array2, int offset2, int length) {
+
+        // This compares the specified ranges of the two arrays without copying them. Ranges that extend past the end
+        // of either array are not equal.
+        boolean arraysAreEqual = rangesAreValid(array1, offset1, array2, offset2, length);
+        for (int i = 0; i < length && arraysAreEqual; i++) {
+            if (array1[offset1 + i] != array2[offset2 + i]) {
+                arraysAreEqual = false;
+            }
+        }
+
+        return arraysAreEqual;
+    }
+
+    public static boolean arraysAreEqualConstantTime(byte[] array1, byte[] array2) {
+
+        boolean arraysAreEqual;
+        if (array1 == null || array2 == null) {
+            arraysAreEqual = array1 == null && array2 == null;
+        } else {
+            arraysAreEqual = array1.length == array2.length &&
+                    arraysAreEqualConstantTime(array1, 0, array2, 0, array1.length);
+        }
+
+        return arraysAreEqual;
+    }
+
+    public static boolean arraysAreEqualConstantTime(byte[] array1, int offset1, byte[] array2, int offset2,
+                                                     int length) {
+
+        // This compares every byte of the ranges regardless of where they first differ, so the time taken does not
+        // reveal how much of a secret value matched. The lengths and offsets are not considered secret.
+        int difference = 0;
+        if (rangesAreValid(array1, offset1, array2, offset2, length)) {
+            for (int i = 0; i < length; i++) {
+                difference |= array1[offset1 + i] ^ array2[offset2 + i];
+            }
+        } else {
+            difference = 1;
+        }
+
+        return difference == 0;
+    }
+
+    private static boolean rangesAreValid(byte[] array1, int offset1, byte[] array2, int offset2, int length) {
+
+        return array1 != null && array2 != null && offset1 >= 0 && offset2 >= 0 && length >= 0 &&
+                offset1 + length <= array1.length && offset2 + length <= array2.length;
+    }
+
+    public static byte[] byteArrayFromHexString(String string, int length) {
+
+        byte[] result = new byte[length];
+        if (string != null) {
+            readHexadecimal(string, result, 0, length);
+        }
+
+        return result;
+    }
+
+    public static int readHexadecimal(CharSequence string, byte[] result, int resultOffset, int length) {
+
+        // Characters that are not hexadecimal digits, such as dashes, are skipped. Reading stops when the specified
+        // number of bytes have been read or the string ends, and the number of bytes read is returned.
+        int resultIndex = resultOffset;
+        int resultEnd = resultOffset + length;
+        int characterCount = string.length();
+        int previousValue = -1;
+        for (int i = 0; i < characterCount && resultIndex < resultEnd; i++) {
+            char character = string.charAt(i);
+            int value = character < 128 ? hexadecimalValues[character] : -1;
+            if (value >= 0) {
+                if (previousValue < 0) {
+                    previousValue = value;
+                } else {
+                    result[resultIndex++] = (byte) ((previousValue << 4) | value);
+                    previousValue = -1;
+                }
+            }
+        }
+
+        return resultIndex - resultOffset;
+    }
+
+    public static boolean isAllZeros(byte[] array) {
+        boolean isAllZeros = true;
+        if (array != null) {
+            for (int i = 0; i < array.length && isAllZeros; i++) {
+                if (array[i] != 0) {
+                    isAllZeros = false;
+                }
+            }
+        }
+
+        return isAllZeros;
+    }
+}
@@ -0,0 +1,135 @@
+package co.nyzo.verifier.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import co.nyzo.verifier.FieldByteSize;
+
+public class HashUtil {
+
+    // MessageDigest instances are not thread-safe, so each thread has its own. This allows hashing to proceed on many
+    // threads at once without any locking.
+    private static final ThreadLocal<MessageDigest> messageDigest = new ThreadLocal<MessageDigest>() {
+        @Override
+        protected MessageDigest initialValue() {
+            MessageDigest digest = null;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (Exception ignored) {
+                ignored.printStackTrace();
+            }
+
+            return digest;
+        }
+    };
+
+    private static MessageDigest digest() {
+
+        // The digest is reset in case a previous use on this thread was interrupted by an exception.
+        MessageDigest digest = messageDigest.get();
+        digest.reset();
+
+        return digest;
+    }
+
+    public static byte[] singleSHA256(byte[] data) {
+
+        if (data == null) {
+            data = new byte[0];
+        }
+        return digest().digest(data);
+    }
+
+    public static byte[] doubleSHA256(byte[] data) {
+
+        MessageDigest digest = digest();
+        return digest.digest(digest.digest(data));
+    }
+
+    public static void singleSHA256(byte[] data, int offset, int length, byte[] output, int outputOffset) {
+
+        // This hashes the specified range of the data array into the output array at the specified offset, so that
+        // neither the input range nor the result needs to be copied to a new array.
+        MessageDigest digest = digest();
+        digest.update(data, offset, length);
+        finishDigest(digest, output, outputOffset);
+    }
+
+    public static void doubleSHA256(byte[] data, int offset, int length, byte[] output, int outputOffset) {
+
+        // The first hash is written to the output array and then hashed in place. The digest copies its input when
+        // updating, so the second result may overwrite the first.
+        MessageDigest digest = digest();
+        digest.update(data, offset, length);
+        finishDigest(digest, output, outputOffset);
+        digest.update(output, outputOffset, FieldByteSize.hash);
+        finishDigest(digest, output, outputOffset);
+    }
+
+    private static void finishDigest(MessageDigest digest, byte[] output, int outputOffset) {
+
+        try {
+            digest.digest(output, outputOffset, FieldByteSize.hash);
+        } catch (DigestException e) {
+            throw new IllegalArgumentException("unable to write hash to output array of length " + output.length +
+                    " at offset " + outputOffset, e);
+        }
+    }
+
+    public static long longSHA256(byte[] data) {
+
+        byte[] sha256 = singleSHA256(data);
+        ByteBuffer buffer = ByteBuffer.wrap(sha256);
+        return buffer.getLong();
+    }
+
+    public static long longSHA256(byte[]... dataArgs) {
+
+        // Updating the digest with each argument in turn is equivalent to hashing the concatenation of the arguments.
+        MessageDigest digest = digest();
+        for (byte[] data : dataArgs) {
+            digest.update(data);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(digest.digest());
+
+        return buffer.getLong();
+    }
+
+    public static byte[] bLongSHA256(byte[] data) {
+
+        byte[] sha256 = singleSHA256(data);
+        return Arrays.copyOf(sha256, 8);
+    }
+
+    public static byte[] bLongSHA256(byte[]... dataArgs) {
+
+        MessageDigest digest = digest();
+        for (byte[] data : dataArgs) {
+            digest.update(data);
+        }
+
+        return Arrays.copyOf(digest.digest(), 8);
+    }
+
+    public static byte[] byteArray(int value) {
+
+        byte[] array = new byte[4];
+        ByteBuffer buffer = ByteBuffer.wrap(array);
+        buffer.putInt(value);
+
+        return array;
+    }
+
+    public static byte[] byteArray(long value) {
+
+        byte[] array = new byte[8];
+        ByteBuffer buffer = ByteBuffer.wrap(array);
+        buffer.putLong(value);
+
+        return array;
+    }
+}
+
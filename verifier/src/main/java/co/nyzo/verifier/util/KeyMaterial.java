@@ -0,0 +1,64 @@
+package co.nyzo.verifier.util;
+
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+
+import java.security.SignatureException;
+import java.util.Arrays;
+
+public class KeyMaterial {
+
+    private final byte[] identifier;
+    private final EdDSAPrivateKey privateKey;
+    private final EdDSAEngine signingEngine;
+    private boolean wiped;
+
+    KeyMaterial(byte[] identifier, EdDSAPrivateKey privateKey, EdDSAEngine signingEngine) {
+        this.identifier = identifier;
+        this.privateKey = privateKey;
+        this.signingEngine = signingEngine;
+        this.wiped = false;
+    }
+
+    public byte[] getIdentifier() {
+        return Arrays.copyOf(identifier, identifier.length);
+    }
+
+    public boolean isWiped() {
+        synchronized (signingEngine) {
+            return wiped;
+        }
+    }
+
+    public byte[] sign(byte[] bytesToSign) throws SignatureException {
+        return sign(bytesToSign, 0, bytesToSign.length);
+    }
+
+    public byte[] sign(byte[] bytesToSign, int offset, int length) throws SignatureException {
+
+        // Signing and wiping both lock the engine. If this material was wiped after it was retrieved from the cache,
+        // null is returned instead of a signature made with a zeroed key, and the caller should retrieve the material
+        // again.
+        synchronized (signingEngine) {
+            return wiped ? null : signingEngine.signOneShot(bytesToSign, offset, length);
+        }
+    }
+
+    void wipe() {
+
+        // The private key returns its internal arrays, so the seed, the seed hash, and the private scalar can be zeroed
+        // in place. The public identifier is not secret and is left intact for any caller still holding a copy.
+        synchronized (signingEngine) {
+            wiped = true;
+            fill(privateKey.getSeed());
+            fill(privateKey.getH());
+            fill(privateKey.geta());
+        }
+    }
+
+    private static void fill(byte[] array) {
+        if (array != null) {
+            Arrays.fill(array, (byte) 0);
+        }
+    }
+}
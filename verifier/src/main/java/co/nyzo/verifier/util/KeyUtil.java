@@ -0,0 +1,242 @@
+package co.nyzo.verifier.util;
+
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import net.i2p.crypto.eddsa.EdDSASecurityProvider;
+import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
+import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
+import net.i2p.crypto.eddsa.spec.EdDSAPrivateKeySpec;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Security;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import co.nyzo.verifier.FieldByteSize;
+
+public class KeyUtil {
+
+    // Key material is cached per seed so that a burst of transactions signed with the same seed only derives the key
+    // once. Only seeds held by this process are cached, so the cache is small. Evicted material is wiped.
+    private static final int maximumKeyMaterialCacheSize = 64;
+    private static final Map<ByteBuffer, KeyMaterial> keyMaterialCache = new LinkedHashMap<>(16, 0.75f, true);
+    private static final AtomicLong keyMaterialCacheHits = new AtomicLong();
+    private static final AtomicLong keyMaterialCacheMisses = new AtomicLong();
+    private static final AtomicLong keyMaterialCacheEvictions = new AtomicLong();
+
+    private static final EdDSAParameterSpec spec;
+
+    static {
+        Security.addProvider(new EdDSASecurityProvider());
+        spec = EdDSANamedCurveTable.getByName("Ed25519");
+    }
+
+    // The encodedFromSeed and encodedFromAByte methods in this class are based on copy/paste from the EdDSAPrivateKey
+    // class of the EdDSA library.
+
+    private static final int OID_ED25519 = 112;
+
+    public static byte[] encodedFromSeed(byte[] seed) {
+
+        int totlen = 16 + seed.length;
+        byte[] rv = new byte[totlen];
+        int idx = 0;
+        // sequence
+        rv[idx++] = 0x30;
+        rv[idx++] = (byte) (totlen - 2);
+        // version
+        rv[idx++] = 0x02;
+        rv[idx++] = 1;
+        // v1 - no public key included
+        rv[idx++] = 0;
+        // Algorithm Identifier
+        // sequence
+        rv[idx++] = 0x30;
+        rv[idx++] = 5;
+        // OID
+        // https://msdn.microsoft.com/en-us/library/windows/desktop/bb540809%28v=vs.85%29.aspx
+        rv[idx++] = 0x06;
+        rv[idx++] = 3;
+        rv[idx++] = (1 * 40) + 3;
+        rv[idx++] = 101;
+        rv[idx++] = (byte) OID_ED25519;
+        // params - absent
+        // PrivateKey
+        rv[idx++] = 0x04;  // octet string
+        rv[idx++] = (byte) (2 + seed.length);
+        // CurvePrivateKey
+        rv[idx++] = 0x04;  // octet string
+        rv[idx++] = (byte) seed.length;
+        // the key
+        System.arraycopy(seed, 0, rv, idx, seed.length);
+
+        return rv;
+    }
+
+    public static byte[] encodedFromAByte(byte[] aByte) {
+
+        int totlen = 12 + aByte.length;
+        byte[] rv = new byte[totlen];
+        int idx = 0;
+        // sequence
+        rv[idx++] = 0x30;
+        rv[idx++] = (byte) (totlen - 2);
+        // Algorithm Identifier
+        // sequence
+        rv[idx++] = 0x30;
+        rv[idx++] = 5;
+        // OID
+        // https://msdn.microsoft.com/en-us/library/windows/desktop/bb540809%28v=vs.85%29.aspx
+        rv[idx++] = 0x06;
+        rv[idx++] = 3;
+        rv[idx++] = (1 * 40) + 3;
+        rv[idx++] = 101;
+        rv[idx++] = (byte) OID_ED25519;
+        // params - absent
+        // the key
+        rv[idx++] = 0x03; // bit string
+        rv[idx++] = (byte) (1 + aByte.length);
+        rv[idx++] = 0; // number of trailing unused bits
+        System.arraycopy(aByte, 0, rv, idx, aByte.length);
+        return rv;
+    }
+
+    public static PrivateKey privateKeyFromSeed(byte[] seed) {
+
+        PrivateKey key = null;
+
+        try {
+            byte[] encodedSeed = KeyUtil.encodedFromSeed(seed);
+            key = new EdDSAPrivateKey(new PKCS8EncodedKeySpec(encodedSeed));
+        } catch (Exception ignored) { }
+
+        return key;
+    }
+
+    public static PublicKey publicKeyFromIdentifier(byte[] identifier) {
+
+        PublicKey key = null;
+
+        try {
+            byte[] encodedAByte = KeyUtil.encodedFromAByte(identifier);
+            key = new EdDSAPublicKey(new X509EncodedKeySpec(encodedAByte));
+        } catch (Exception ignored) { }
+
+        return key;
+    }
+
+    public static byte[] identifierForSeed(byte[] seed) {
+
+        KeyMaterial keyMaterial = keyMaterialForSeed(seed);
+        return keyMaterial == null ? new byte[FieldByteSize.identifier] : keyMaterial.getIdentifier();
+    }
+
+    public static KeyMaterial keyMaterialForSeed(byte[] seed) {
+
+        if (seed == null || seed.length != FieldByteSize.seed) {
+            return null;
+        }
+
+        ByteBuffer key = ByteBuffer.wrap(seed);
+        KeyMaterial keyMaterial;
+        synchronized (keyMaterialCache) {
+            keyMaterial = keyMaterialCache.get(key);
+        }
+
+        if (keyMaterial != null) {
+            keyMaterialCacheHits.incrementAndGet();
+        } else {
+            // Derivation is done outside the lock. If another thread cached material for the same seed in the meantime,
+            // that material is used and this one is wiped.
+            keyMaterialCacheMisses.incrementAndGet();
+            KeyMaterial derived = deriveKeyMaterial(seed);
+            if (derived != null) {
+                synchronized (keyMaterialCache) {
+                    keyMaterial = keyMaterialCache.get(key);
+                    if (keyMaterial == null) {
+                        keyMaterial = derived;
+                        keyMaterialCache.put(ByteBuffer.wrap(Arrays.copyOf(seed, seed.length)), derived);
+                        evictExcessKeyMaterial();
+                    }
+                }
+
+                if (keyMaterial != derived) {
+                    derived.wipe();
+                }
+            }
+        }
+
+        return keyMaterial;
+    }
+
+    private static KeyMaterial deriveKeyMaterial(byte[] seed) {
+
+        KeyMaterial keyMaterial = null;
+        try {
+            // The spec is built directly from a copy of the seed, rather than from a PKCS8 encoding, so the key holds
+            // the only copy of the seed and it can be wiped on eviction.
+            EdDSAPrivateKey privateKey = new EdDSAPrivateKey(new EdDSAPrivateKeySpec(Arrays.copyOf(seed, seed.length),
+                    spec));
+            byte[] identifier = Arrays.copyOf(privateKey.getAbyte(), FieldByteSize.identifier);
+            EdDSAEngine signingEngine = new EdDSAEngine(MessageDigest.getInstance(spec.getHashAlgorithm()));
+            signingEngine.initSign(privateKey);
+            keyMaterial = new KeyMaterial(identifier, privateKey, signingEngine);
+        } catch (Exception ignored) { }
+
+        return keyMaterial;
+    }
+
+    private static void evictExcessKeyMaterial() {
+
+        // Eviction is done through the iterator, not removeEldestEntry(), so that each key is removed from the map
+        // before its seed copy is zeroed.
+        Iterator<Map.Entry<ByteBuffer, KeyMaterial>> iterator = keyMaterialCache.entrySet().iterator();
+        while (keyMaterialCache.size() > maximumKeyMaterialCacheSize && iterator.hasNext()) {
+            Map.Entry<ByteBuffer, KeyMaterial> eldest = iterator.next();
+            iterator.remove();
+            Arrays.fill(eldest.getKey().array(), (byte) 0);
+            eldest.getValue().wipe();
+            keyMaterialCacheEvictions.incrementAndGet();
+        }
+    }
+
+    public static void clearKeyMaterialCache() {
+
+        synchronized (keyMaterialCache) {
+            Iterator<Map.Entry<ByteBuffer, KeyMaterial>> iterator = keyMaterialCache.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<ByteBuffer, KeyMaterial> entry = iterator.next();
+                iterator.remove();
+                Arrays.fill(entry.getKey().array(), (byte) 0);
+                entry.getValue().wipe();
+            }
+        }
+    }
+
+    public static int getKeyMaterialCacheSize() {
+        synchronized (keyMaterialCache) {
+            return keyMaterialCache.size();
+        }
+    }
+
+    public static long getKeyMaterialCacheHits() {
+        return keyMaterialCacheHits.get();
+    }
+
+    public static long getKeyMaterialCacheMisses() {
+        return keyMaterialCacheMisses.get();
+    }
+
+    public static long getKeyMaterialCacheEvictions() {
+        return keyMaterialCacheEvictions.get();
+    }
+}
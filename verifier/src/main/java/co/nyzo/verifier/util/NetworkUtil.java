@@ -1,8 +1,8 @@
 package co.nyzo.verifier.util;
 
-import android.util.Log;
-
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLConnection;
@@ -13,11 +13,8 @@ public class NetworkUtil {
 
         StringBuilder result = new StringBuilder();
         try {
-            URL url = new URL(urlString);
-            URLConnection connection = url.openConnection();
-            connection.setConnectTimeout(timeoutMilliseconds);
-
-            BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
+            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStreamForUrl(urlString,
+                    timeoutMilliseconds)));
             String line;
             while ((line = reader.readLine()) != null) {
                 result.append(line);
@@ -28,4 +25,15 @@ public class NetworkUtil {
 
         return result.toString();
     }
+
+    public static InputStream inputStreamForUrl(String urlString, int timeoutMilliseconds) throws IOException {
+
+        // The caller is responsible for closing the stream. This allows a response to be read as it arrives, such as
+        // with a JsonReader, rather than as a single string.
+        URL url = new URL(urlString);
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(timeoutMilliseconds);
+
+        return connection.getInputStream();
+    }
 }
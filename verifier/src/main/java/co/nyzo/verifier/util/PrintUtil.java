@@ -0,0 +1,143 @@
+package co.nyzo.verifier.util;
+
+import co.nyzo.verifier.Transaction;
+
+public class PrintUtil {
+
+    // Amounts are written and read as exact decimal text with six fractional digits, one for each decimal place of a
+    // micronyzo. No floating-point arithmetic is used, so every amount round-trips. The longest amount is the minimum
+    // long value, which is written as "(∩9223372036854.775808)".
+    private static final int micronyzoDecimalPlaces = 6;
+    private static final int maximumAmountLength = 23;
+
+    public static String printAmount(long micronyzos) {
+
+        char[] characters = new char[maximumAmountLength];
+        int length = writeAmount(micronyzos, characters, 0);
+
+        return new String(characters, 0, length);
+    }
+
+    public static int writeAmount(long micronyzos, char[] characters, int offset) {
+
+        // Negative amounts are written in parentheses. The magnitude is kept negative while the digits are computed,
+        // as the minimum long value has no positive counterpart. The index after the last character written is
+        // returned.
+        boolean amountIsNegative = micronyzos < 0;
+        long negativeMagnitude = amountIsNegative ? micronyzos : -micronyzos;
+        long whole = -(negativeMagnitude / Transaction.micronyzoMultiplierRatio);
+        long fraction = -(negativeMagnitude % Transaction.micronyzoMultiplierRatio);
+
+        if (amountIsNegative) {
+            characters[offset++] = '(';
+        }
+        characters[offset++] = '∩';
+
+        int wholeDigits = 1;
+        for (long remaining = whole / 10; remaining > 0; remaining /= 10) {
+            wholeDigits++;
+        }
+        for (int i = offset + wholeDigits - 1; i >= offset; i--) {
+            characters[i] = (char) ('0' + whole % 10);
+            whole /= 10;
+        }
+        offset += wholeDigits;
+
+        characters[offset++] = '.';
+        for (int i = offset + micronyzoDecimalPlaces - 1; i >= offset; i--) {
+            characters[i] = (char) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        offset += micronyzoDecimalPlaces;
+
+        if (amountIsNegative) {
+            characters[offset++] = ')';
+        }
+
+        return offset;
+    }
+
+    public static long parseAmount(CharSequence string, long defaultValue) {
+
+        // This accepts surrounding whitespace, an optional sign, an optional '∩', and digits with an optional decimal
+        // point. Digits past the sixth decimal place are truncated, as they were when amounts were parsed as doubles.
+        // Exponents are not accepted. The default value is returned for text that is not an amount or for an amount
+        // that does not fit in a long. The value is accumulated as a negative number so that the minimum long value
+        // can be parsed.
+        long result = defaultValue;
+        if (string != null) {
+            int index = 0;
+            int end = string.length();
+            while (index < end && string.charAt(index) <= ' ') {
+                index++;
+            }
+            while (end > index && string.charAt(end - 1) <= ' ') {
+                end--;
+            }
+
+            boolean amountIsNegative = false;
+            if (index < end && (string.charAt(index) == '-' || string.charAt(index) == '+')) {
+                amountIsNegative = string.charAt(index) == '-';
+                index++;
+            }
+            if (index < end && string.charAt(index) == '∩') {
+                index++;
+            }
+
+            long negativeValue = 0L;
+            int digitCount = 0;
+            int fractionDigitCount = -1;
+            boolean valid = true;
+            for (; index < end && valid; index++) {
+                char character = string.charAt(index);
+                if (character >= '0' && character <= '9') {
+                    digitCount++;
+                    if (fractionDigitCount < micronyzoDecimalPlaces) {
+                        int digit = character - '0';
+                        valid = negativeValue >= (Long.MIN_VALUE + digit) / 10;
+                        negativeValue = negativeValue * 10 - digit;
+                        if (fractionDigitCount >= 0) {
+                            fractionDigitCount++;
+                        }
+                    }
+                } else if (character == '.' && fractionDigitCount < 0) {
+                    fractionDigitCount = 0;
+                } else {
+                    valid = false;
+                }
+            }
+
+            for (int i = Math.max(fractionDigitCount, 0); i < micronyzoDecimalPlaces && valid; i++) {
+                valid = negativeValue >= Long.MIN_VALUE / 10;
+                negativeValue *= 10;
+            }
+
+            if (valid && digitCount > 0 && (amountIsNegative || negativeValue != Long.MIN_VALUE)) {
+                result = amountIsNegative ? negativeValue : -negativeValue;
+            }
+        }
+
+        return result;
+    }
+
+    public static String compactPrintByteArray(byte[] array) {
+        String result;
+        if (array == null) {
+            result = "(null)";
+        } else if (array.length == 0) {
+            result = "(empty)";
+        } else if (array.length <= 4) {
+            result = ByteUtil.arrayAsStringNoDashes(array);
+        } else {
+            char[] characters = new char[11];
+            ByteUtil.writeHexadecimal(array, 0, 2, characters, 0);
+            characters[4] = '.';
+            characters[5] = '.';
+            characters[6] = '.';
+            ByteUtil.writeHexadecimal(array, array.length - 2, 2, characters, 7);
+            result = new String(characters);
+        }
+
+        return result;
+    }
+}
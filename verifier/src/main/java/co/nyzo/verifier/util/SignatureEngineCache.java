@@ -0,0 +1,121 @@
+package co.nyzo.verifier.util;
+
+import net.i2p.crypto.eddsa.EdDSAEngine;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SignatureEngineCache {
+
+    // This is a bounded, least-recently-used cache of signature engines keyed by seed or identifier. The keys are
+    // divided among stripes, each with its own lock, so that lookups for different keys rarely contend. Each stripe
+    // evicts its own least-recently-used entry when it is full.
+
+    // An engine is stateful while signing or verifying, so callers must hold the engine's monitor while using it.
+    // Engines for different keys can be used in parallel.
+
+    private final Stripe[] stripes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SignatureEngineCache(int maximumSize, int stripeCount) {
+
+        stripes = new Stripe[stripeCount];
+        int stripeCapacity = Math.max(1, (maximumSize + stripeCount - 1) / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    public EdDSAEngine get(byte[] key) {
+
+        ByteBuffer keyBuffer = ByteBuffer.wrap(key);
+        Stripe stripe = stripeForKey(keyBuffer);
+        EdDSAEngine engine;
+        synchronized (stripe) {
+            engine = stripe.get(keyBuffer);
+        }
+
+        if (engine == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+
+        return engine;
+    }
+
+    public EdDSAEngine putIfAbsent(byte[] key, EdDSAEngine engine) {
+
+        // If another thread stored an engine for this key first, that engine is returned so that all threads share a
+        // single engine per key. The key is copied so that later changes to the caller's array do not affect the
+        // cache.
+        ByteBuffer keyBuffer = ByteBuffer.wrap(key.clone());
+        Stripe stripe = stripeForKey(keyBuffer);
+        EdDSAEngine result;
+        synchronized (stripe) {
+            result = stripe.get(keyBuffer);
+            if (result == null) {
+                stripe.put(keyBuffer, engine);
+                result = engine;
+            }
+        }
+
+        return result;
+    }
+
+    public int size() {
+
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+
+        return size;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private Stripe stripeForKey(ByteBuffer keyBuffer) {
+        return stripes[(keyBuffer.hashCode() & 0x7fffffff) % stripes.length];
+    }
+
+    private class Stripe extends LinkedHashMap<ByteBuffer, EdDSAEngine> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);  // access order, for least-recently-used eviction
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, EdDSAEngine> eldest) {
+
+            boolean remove = size() > capacity;
+            if (remove) {
+                evictions.incrementAndGet();
+            }
+
+            return remove;
+        }
+    }
+}
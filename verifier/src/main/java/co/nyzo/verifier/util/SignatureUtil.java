@@ -0,0 +1,189 @@
+package co.nyzo.verifier.util;
+
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSASecurityProvider;
+import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
+import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
+
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import co.nyzo.verifier.Transaction;
+
+public class SignatureUtil {
+
+    // Verification engines are cached so that the key for each identifier only needs to be decoded once. The cache is
+    // bounded by the number of verifiers and other senders that might be seen. Signing engines are cached with the
+    // rest of the key material for each seed in KeyUtil.
+    private static final SignatureEngineCache verificationEngineCache = new SignatureEngineCache(20000, 64);
+
+    // This is the number of signatures verified by each task in a batch verification.
+    private static final int batchVerificationChunkSize = 32;
+
+    public static final EdDSAParameterSpec spec;
+
+    static {
+        Security.addProvider(new EdDSASecurityProvider());
+        spec = EdDSANamedCurveTable.getByName("Ed25519");
+    }
+
+    public static byte[] signBytes(byte[] bytesToSign, byte[] privateSeed) {
+        return signBytes(bytesToSign, 0, bytesToSign == null ? 0 : bytesToSign.length, privateSeed);
+    }
+
+    public static byte[] signBytes(byte[] bytesToSign, int offset, int length, byte[] privateSeed) {
+
+        byte[] signatureBytes = null;
+
+        try {
+            // Material that is evicted and wiped between retrieval and signing produces a null signature. In that
+            // case, the material is retrieved again, which derives the key anew.
+            for (int attempt = 0; attempt < 2 && signatureBytes == null; attempt++) {
+                signatureBytes = KeyUtil.keyMaterialForSeed(privateSeed).sign(bytesToSign, offset, length);
+            }
+
+        } catch (Exception reportOnly) {
+            System.err.println("exception signing bytes of length " + (bytesToSign == null ? "(null)" :
+                    length) + " with seed " + ByteUtil.arrayAsStringWithDashes(privateSeed));
+        }
+
+        return signatureBytes;
+    }
+
+    public static boolean signatureIsValid(byte[] signatureBytes, byte[] signedBytes, byte[] publicIdentifier) {
+        return signatureIsValid(signatureBytes, signedBytes, publicIdentifier, 0, signedBytes.length);
+    }
+
+    public static boolean signatureIsValid(byte[] signatureBytes, byte[] signedBytes, byte[] publicIdentifier,
+                                           int signedBytesStart, int signedBytesEnd) {
+
+        boolean signatureIsValid;
+
+        try {
+            EdDSAEngine signature = verificationEngineCache.get(publicIdentifier);
+            if (signature == null) {
+                signature = new EdDSAEngine(MessageDigest.getInstance(spec.getHashAlgorithm()));
+                PublicKey publicKey = KeyUtil.publicKeyFromIdentifier(publicIdentifier);
+                signature.initVerify(publicKey);
+                signature = verificationEngineCache.putIfAbsent(publicIdentifier, signature);
+            }
+
+            // Only this engine is locked, so verification for other identifiers can proceed on other threads.
+            synchronized (signature) {
+                int signedBytesLength = signedBytesEnd - signedBytesStart;
+                signatureIsValid = signature.verifyOneShot(signedBytes, signedBytesStart, signedBytesLength,
+                        signatureBytes, 0, signatureBytes.length);
+            }
+
+        } catch (Exception ignored) {
+
+            signatureIsValid = false;
+        }
+
+        return signatureIsValid;
+    }
+
+    public static boolean[] signaturesAreValid(List<Transaction> transactions, ExecutorService executor) {
+
+        // Each transaction's signature state is set as it is verified, so later calls to signatureIsValid() on these
+        // transactions do not verify again. If the calling thread is interrupted while waiting, null is returned, as
+        // described in verifyInChunks().
+        final Transaction[] transactionArray = transactions.toArray(new Transaction[0]);
+        final boolean[] results = new boolean[transactionArray.length];
+        boolean complete = verifyInChunks(transactionArray.length, executor, new ChunkVerifier() {
+            @Override
+            public void verify(int start, int end) {
+                for (int i = start; i < end; i++) {
+                    results[i] = transactionArray[i].signatureIsValid();
+                }
+            }
+        });
+
+        return complete ? results : null;
+    }
+
+    public static boolean[] signaturesAreValid(final byte[][] signatures, final byte[][] signedBytes,
+                                               final byte[][] publicIdentifiers, ExecutorService executor) {
+
+        final boolean[] results = new boolean[signatures.length];
+        boolean complete = verifyInChunks(signatures.length, executor, new ChunkVerifier() {
+            @Override
+            public void verify(int start, int end) {
+                for (int i = start; i < end; i++) {
+                    results[i] = signatureIsValid(signatures[i], signedBytes[i], publicIdentifiers[i]);
+                }
+            }
+        });
+
+        return complete ? results : null;
+    }
+
+    private interface ChunkVerifier {
+        void verify(int start, int end);
+    }
+
+    private static boolean verifyInChunks(int count, ExecutorService executor, final ChunkVerifier verifier) {
+
+        // Items are verified in chunks to limit task overhead. With no executor, or with only one chunk, everything is
+        // verified on the calling thread. Otherwise, the chunks are submitted to the executor, and this method waits
+        // for all of them to finish. Chunks that the executor rejects are verified on the calling thread. Items in a
+        // chunk that fails with an exception are left as invalid. False is returned if the calling thread is
+        // interrupted while waiting.
+        boolean complete = true;
+        if (executor == null || count <= batchVerificationChunkSize) {
+            verifier.verify(0, count);
+        } else {
+            List<Future<?>> futures = new ArrayList<>();
+            int start = 0;
+            boolean rejected = false;
+            while (start < count && !rejected) {
+                final int chunkStart = start;
+                final int chunkEnd = Math.min(start + batchVerificationChunkSize, count);
+                try {
+                    futures.add(executor.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            verifier.verify(chunkStart, chunkEnd);
+                        }
+                    }));
+                    start = chunkEnd;
+                } catch (RejectedExecutionException ignored) {
+                    rejected = true;
+                }
+            }
+
+            if (start < count) {
+                verifier.verify(start, count);
+            }
+
+            for (int i = 0; i < futures.size() && complete; i++) {
+                try {
+                    futures.get(i).get();
+                } catch (InterruptedException e) {
+                    complete = false;
+                } catch (Exception ignored) { }
+            }
+
+            // If interrupted, the chunks that have not started are cancelled and the interrupt status is restored.
+            // Chunks that are already running may still be writing their results, so the results must not be used.
+            if (!complete) {
+                for (Future<?> future : futures) {
+                    future.cancel(false);
+                }
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return complete;
+    }
+
+    public static SignatureEngineCache getVerificationEngineCache() {
+        return verificationEngineCache;
+    }
+}
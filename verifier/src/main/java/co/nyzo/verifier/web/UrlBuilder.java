@@ -0,0 +1,48 @@
+package co.nyzo.verifier.web;
+
+public class UrlBuilder {
+
+    // This appends percent-encoded query parameters to a URL in a single buffer. Parameters are added to any query
+    // that the URL already has, and a fragment of the URL is kept at the end. The initial capacity leaves room for
+    // several Nyzo transaction strings, so the buffer is not normally resized.
+    private static final int initialParameterCapacity = 1024;
+
+    private final StringBuilder builder;
+    private final String fragment;
+    private boolean needsSeparator;
+    private boolean hasQuery;
+
+    public UrlBuilder(String url) {
+
+        int fragmentStart = url.indexOf('#');
+        int end = fragmentStart < 0 ? url.length() : fragmentStart;
+        this.builder = new StringBuilder(url.length() + initialParameterCapacity);
+        this.builder.append(url, 0, end);
+        this.fragment = fragmentStart < 0 ? null : url.substring(fragmentStart);
+
+        int queryStart = url.lastIndexOf('?', end - 1);
+        this.hasQuery = queryStart >= 0;
+        this.needsSeparator = hasQuery && queryStart < end - 1 && url.charAt(end - 1) != '&';
+    }
+
+    public UrlBuilder addParameter(String name, String value) {
+
+        if (!hasQuery) {
+            builder.append('?');
+            hasQuery = true;
+        } else if (needsSeparator) {
+            builder.append('&');
+        }
+        WebUtil.appendPercentEncoding(name, builder);
+        builder.append('=');
+        WebUtil.appendPercentEncoding(value, builder);
+        needsSeparator = true;
+
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return fragment == null ? builder.toString() : builder + fragment;
+    }
+}
@@ -0,0 +1,166 @@
+package co.nyzo.verifier.web;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class WebUtil {
+
+    // Characters are encoded as the percent-encoded bytes of their UTF-8 representation, except for the unreserved
+    // characters of RFC 3986 (letters, digits, '-', '.', '_', and '~'), which are written as they are. Nyzo strings
+    // only contain unreserved characters, so they are never changed by encoding. The value table maps each ASCII
+    // character to its 4-bit hexadecimal value, or -1 for characters that are not hexadecimal digits.
+    private static final boolean[] unreservedCharacters = new boolean[128];
+    private static final char[] hexadecimalCharacters = "0123456789ABCDEF".toCharArray();
+    private static final byte[] hexadecimalValues = new byte[128];
+    static {
+        for (char character = 'a'; character <= 'z'; character++) {
+            unreservedCharacters[character] = true;
+            unreservedCharacters[Character.toUpperCase(character)] = true;
+        }
+        for (char character = '0'; character <= '9'; character++) {
+            unreservedCharacters[character] = true;
+        }
+        unreservedCharacters['-'] = true;
+        unreservedCharacters['.'] = true;
+        unreservedCharacters['_'] = true;
+        unreservedCharacters['~'] = true;
+
+        Arrays.fill(hexadecimalValues, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            hexadecimalValues[hexadecimalCharacters[i]] = (byte) i;
+            hexadecimalValues[Character.toLowerCase(hexadecimalCharacters[i])] = (byte) i;
+        }
+    }
+
+    public static String applyPercentEncoding(String value) {
+
+        // A value that does not need encoding is returned without copying.
+        int length = value.length();
+        int index = 0;
+        while (index < length && isUnreserved(value.charAt(index))) {
+            index++;
+        }
+
+        String result = value;
+        if (index < length) {
+            StringBuilder builder = new StringBuilder(length + 16);
+            appendPercentEncoding(value, builder);
+            result = builder.toString();
+        }
+
+        return result;
+    }
+
+    public static void appendPercentEncoding(CharSequence value, StringBuilder builder) {
+
+        // Runs of unreserved characters are appended in blocks. Unpaired surrogates cannot be represented in UTF-8, so
+        // they are encoded as the replacement character.
+        int length = value.length();
+        int index = 0;
+        while (index < length) {
+            int runStart = index;
+            while (index < length && isUnreserved(value.charAt(index))) {
+                index++;
+            }
+            builder.append(value, runStart, index);
+
+            if (index < length) {
+                char character = value.charAt(index++);
+                if (character < 0x80) {
+                    appendEncodedByte(character, builder);
+                } else if (character < 0x800) {
+                    appendEncodedByte(0xc0 | (character >> 6), builder);
+                    appendEncodedByte(0x80 | (character & 0x3f), builder);
+                } else {
+                    int codePoint = character;
+                    if (Character.isSurrogate(character)) {
+                        if (Character.isHighSurrogate(character) && index < length &&
+                                Character.isLowSurrogate(value.charAt(index))) {
+                            codePoint = Character.toCodePoint(character, value.charAt(index++));
+                        } else {
+                            codePoint = 0xfffd;
+                        }
+                    }
+
+                    if (codePoint < 0x10000) {
+                        appendEncodedByte(0xe0 | (codePoint >> 12), builder);
+                    } else {
+                        appendEncodedByte(0xf0 | (codePoint >> 18), builder);
+                        appendEncodedByte(0x80 | ((codePoint >> 12) & 0x3f), builder);
+                    }
+                    appendEncodedByte(0x80 | ((codePoint >> 6) & 0x3f), builder);
+                    appendEncodedByte(0x80 | (codePoint & 0x3f), builder);
+                }
+            }
+        }
+    }
+
+    public static String removePercentEncoding(String value) {
+
+        // A plus sign is decoded as a space, as in form data. Runs of percent-encoded bytes are collected and decoded
+        // together as UTF-8, with malformed sequences decoded as the replacement character. A percent sign that is not
+        // followed by two hexadecimal digits is kept as it is. A value with nothing to decode is returned without
+        // copying.
+        int length = value.length();
+        int index = 0;
+        char character;
+        while (index < length && (character = value.charAt(index)) != '%' && character != '+') {
+            index++;
+        }
+
+        String result = value;
+        if (index < length) {
+            StringBuilder builder = new StringBuilder(length);
+            builder.append(value, 0, index);
+            byte[] bytes = null;
+            int byteCount = 0;
+            while (index < length) {
+                character = value.charAt(index);
+                int byteValue = character == '%' && index + 2 < length ? hexadecimalValue(value, index + 1) : -1;
+                if (byteValue >= 0) {
+                    if (bytes == null) {
+                        bytes = new byte[(length - index) / 3];
+                    }
+                    bytes[byteCount++] = (byte) byteValue;
+                    index += 3;
+                } else {
+                    if (byteCount > 0) {
+                        builder.append(new String(bytes, 0, byteCount, StandardCharsets.UTF_8));
+                        byteCount = 0;
+                    }
+                    builder.append(character == '+' ? ' ' : character);
+                    index++;
+                }
+            }
+            if (byteCount > 0) {
+                builder.append(new String(bytes, 0, byteCount, StandardCharsets.UTF_8));
+            }
+            result = builder.toString();
+        }
+
+        return result;
+    }
+
+    private static boolean isUnreserved(char character) {
+        return character < 0x80 && unreservedCharacters[character];
+    }
+
+    private static void appendEncodedByte(int byteValue, StringBuilder builder) {
+
+        builder.append('%');
+        builder.append(hexadecimalCharacters[(byteValue >> 4) & 0xf]);
+        builder.append(hexadecimalCharacters[byteValue & 0xf]);
+    }
+
+    private static int hexadecimalValue(String value, int index) {
+
+        // This returns the byte represented by the two characters at the index, or -1 if either is not a hexadecimal
+        // digit.
+        char high = value.charAt(index);
+        char low = value.charAt(index + 1);
+        int highValue = high < 0x80 ? hexadecimalValues[high] : -1;
+        int lowValue = low < 0x80 ? hexadecimalValues[low] : -1;
+
+        return highValue < 0 || lowValue < 0 ? -1 : (highValue << 4) | lowValue;
+    }
+}
@@ -0,0 +1,49 @@
+package co.nyzo.verifier.json;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class JsonReaderTest {
+
+    // This is a client response of the shape read by the app, including nested and empty containers.
+    private static final String document = "{\"result\":[{\"forwarded\":true,\"blockHeight\":12,\"receipt\":[1,null," +
+            "\"a\\\"b\"]},[],[[]],{}],\"notices\":[\"n\"],\"errors\":[]}";
+
+    @Test
+    public void readsCompleteDocument() throws IOException {
+
+        JsonReader reader = new JsonReader(new StringReader(document));
+        reader.skipValue();
+        assertEquals(JsonReader.Token.EndDocument, reader.peek());
+    }
+
+    @Test
+    public void rejectsDocumentEndingInEmptyArray() {
+
+        // A document cut off just after an opening bracket must fail rather than re-read the bracket.
+        assertMalformed("[");
+        assertMalformed("{\"result\":[");
+        assertMalformed("{\"result\":[ \n");
+    }
+
+    @Test
+    public void rejectsEveryTruncationOfDocument() {
+
+        for (int length = 0; length < document.length(); length++) {
+            assertMalformed(document.substring(0, length));
+        }
+    }
+
+    private static void assertMalformed(String json) {
+
+        try {
+            new JsonReader(new StringReader(json)).skipValue();
+            fail("accepted truncated document: " + json);
+        } catch (IOException expected) { }
+    }
+}